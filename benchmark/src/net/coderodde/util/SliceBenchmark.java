@@ -0,0 +1,120 @@
+package net.coderodde.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the operations of {@link Slice} over a reference array. The slice
+ * covers all but one component of the array, and either starts at the
+ * beginning of the array or in its middle so that it wraps around.
+ * {@link IntSliceBenchmark} measures the same operations over a primitive
+ * array.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SliceBenchmark {
+
+    @Param({"16", "1024", "65536", "1048576", "16777216"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean wrapped;
+
+    private Slice<Integer> slice;
+    private Integer value;
+
+    @Setup
+    public void setup() {
+        final Integer[] array = new Integer[size + 1];
+
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = i;
+        }
+
+        final int fromIndex = wrapped ? array.length / 2 : 0;
+        slice = Slice.<Integer>create()
+                     .withArray(array)
+                     .startingFrom(fromIndex)
+                     .until((fromIndex + size) % array.length);
+        value = -1;
+    }
+
+    @Benchmark
+    public long get() {
+        long sum = 0L;
+
+        for (int i = 0; i < size; ++i) {
+            sum += slice.get(i);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public void set() {
+        for (int i = 0; i < size; ++i) {
+            slice.set(i, value);
+        }
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0L;
+
+        for (final Integer element : slice) {
+            sum += element;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        slice.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void move() {
+        slice.move(1);
+    }
+
+    @Benchmark
+    public void movePointers() {
+        // Slides the slice by one component and keeps its size.
+        slice.moveTailPointer(1);
+        slice.moveHeadPointer(1);
+    }
+
+    @Benchmark
+    public void rotate() {
+        slice.rotate(size / 3);
+    }
+
+    @Benchmark
+    public void reverse() {
+        slice.reverse();
+    }
+
+    @Benchmark
+    public Integer[] toArray() {
+        return slice.toTypedArray();
+    }
+}
@@ -0,0 +1,106 @@
+package net.coderodde.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-element cost of {@link Slice#get(int)} on a wrapped slice
+ * against the modulo-based index mapping <code>get</code> used to perform.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(SliceGetBenchmark.SIZE)
+public class SliceGetBenchmark {
+
+    /**
+     * The number of elements read per benchmark invocation.
+     */
+    static final int SIZE = 1 << 16;
+
+    /**
+     * The length of the backing array in excess of the slice size.
+     */
+    @Param({"0", "1", "1000"})
+    public int slack;
+
+    private Integer[] array;
+    private Slice<Integer> slice;
+    private int fromIndex;
+
+    @Setup
+    public void setup() {
+        array = new Integer[SIZE + slack];
+
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = i;
+        }
+
+        // Start in the middle so that the slice wraps around.
+        fromIndex = array.length / 2;
+        slice = Slice.<Integer>create()
+                     .withArray(array)
+                     .startingFrom(fromIndex)
+                     .until((fromIndex + SIZE) % array.length);
+
+        if (slice.size() == 0) {
+            slice.moveTailPointer(SIZE);
+        }
+    }
+
+    /**
+     * Reads every element through the modulo mapping, after the same range
+     * check {@link Slice#get(int)} performs. The check reads the slice size,
+     * just as <code>get</code> does, so that the compiler cannot drop it in
+     * one variant only.
+     *
+     * @return the sum of the elements.
+     */
+    @Benchmark
+    public long moduloGet() {
+        long sum = 0L;
+
+        for (int i = 0; i < SIZE; ++i) {
+            if (i < 0 || i >= slice.size()) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            sum += array[(fromIndex + i) % array.length];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Reads every element through {@link Slice#get(int)}.
+     *
+     * @return the sum of the elements.
+     */
+    @Benchmark
+    public long sliceGet() {
+        long sum = 0L;
+
+        for (int i = 0; i < SIZE; ++i) {
+            sum += slice.get(i);
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,244 @@
+package net.coderodde.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a logical view of a {@link Slice}. Instead of moving
+ * the components of the slice, the view keeps a direction flag and a rotation
+ * offset, so that {@link #reverse()} and {@link #rotate(int)} run in constant
+ * time. The view maps its index <code>i</code> to the slice index
+ * <code>(offset + i) mod size</code>, or to
+ * <code>(offset + size - 1 - i) mod size</code> when reversed. Calling
+ * {@link #materialize()} physically applies the pending reversals and
+ * rotations to the slice, which takes at most one rotation and one reversal
+ * no matter how many operations were applied to the view.
+ *
+ * <p>Since the offset depends on the size of the slice, the slice may not be
+ * moved nor its pointers shifted while the view has pending operations;
+ * otherwise, the view throws {@link ConcurrentModificationException}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the actual array component type.
+ * @version 1.61
+ */
+public final class LogicalSlice<E> implements Iterable<E> {
+
+    /**
+     * The underlying slice.
+     */
+    private final Slice<E> slice;
+
+    /**
+     * Whether the view is reversed with respect to the slice.
+     */
+    private boolean reversed;
+
+    /**
+     * The slice index of the first component of the view, unless reversed.
+     */
+    private int offset;
+
+    /**
+     * The modification count of the slice this view expects.
+     */
+    private int expectedModCount;
+
+    /**
+     * Constructs a new logical view with no pending operations.
+     *
+     * @param slice the underlying slice.
+     */
+    LogicalSlice(Slice<E> slice) {
+        this.slice = slice;
+        this.expectedModCount = slice.modCount();
+    }
+
+    /**
+     * Returns the current size of the view.
+     *
+     * @return the current size.
+     */
+    public int size() {
+        return slice.size();
+    }
+
+    /**
+     * Returns <code>true</code> if the view is empty.
+     *
+     * @return a boolean value.
+     */
+    public boolean isEmpty() {
+        return slice.isEmpty();
+    }
+
+    /**
+     * Returns <code>true</code> if the view has reversals or rotations not
+     * yet applied to the underlying slice.
+     *
+     * @return a boolean value.
+     */
+    public boolean isPending() {
+        return reversed || offset != 0;
+    }
+
+    /**
+     * Accesses a component of the view.
+     *
+     * @param index the index of the component.
+     * @return the component.
+     */
+    public E get(final int index) {
+        checkForComodification();
+        return slice.get(sliceIndex(index));
+    }
+
+    /**
+     * Sets a new value at view index <code>index</code>.
+     *
+     * @param index the index of the component.
+     * @param value the new value.
+     */
+    public void set(final int index, final E value) {
+        checkForComodification();
+        slice.set(sliceIndex(index), value);
+    }
+
+    /**
+     * Reverses the view in constant time.
+     */
+    public void reverse() {
+        checkForComodification();
+        reversed = !reversed;
+    }
+
+    /**
+     * Rotates the view in constant time. If <code>delta</code> is negative,
+     * rotates to the left <code>-delta</code> components. Otherwise, rotates
+     * to the right <code>delta</code> components.
+     *
+     * @param delta rotation delta.
+     */
+    public void rotate(final int delta) {
+        checkForComodification();
+        final int size = slice.size();
+
+        if (size < 2) {
+            return;
+        }
+
+        final int steps = Math.floorMod(delta, size);
+        // Rotating a reversed view to the right moves the offset forward.
+        offset -= reversed ? size - steps : steps;
+
+        if (offset < 0) {
+            offset += size;
+        }
+    }
+
+    /**
+     * Applies the pending operations to the underlying slice, after which the
+     * view and the slice agree on the order of the components.
+     */
+    public void materialize() {
+        checkForComodification();
+
+        if (offset != 0) {
+            slice.rotate(-offset);
+        }
+
+        if (reversed) {
+            slice.reverse();
+        }
+
+        offset = 0;
+        reversed = false;
+    }
+
+    /**
+     * Returns the iterator over the view.
+     *
+     * @return the iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        checkForComodification();
+
+        return new Iterator<E>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < slice.size();
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Iterator exceeded.");
+                }
+
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     * Returns the textual representation of the view.
+     *
+     * @return a string.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        int left = size();
+
+        for (final E element : this) {
+            sb.append(element);
+
+            if (--left > 0) {
+                sb.append(' ');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Maps a view index to the index of the underlying slice. Invalid indices
+     * are left for the slice to reject.
+     *
+     * @param index the view index.
+     * @return the slice index.
+     */
+    private int sliceIndex(final int index) {
+        final int size = slice.size();
+
+        if (index < 0 || index >= size) {
+            return index;
+        }
+
+        final int i = (reversed ? size - 1 - index : index) - (size - offset);
+        return i < 0 ? i + size : i;
+    }
+
+    /**
+     * Checks that the underlying slice has not been moved while operations
+     * were pending.
+     */
+    private void checkForComodification() {
+        final int modCount = slice.modCount();
+
+        if (modCount != expectedModCount) {
+            if (isPending()) {
+                throw new ConcurrentModificationException(
+                        "The slice was moved while the logical view had " +
+                        "pending operations.");
+            }
+
+            expectedModCount = modCount;
+        }
+    }
+}
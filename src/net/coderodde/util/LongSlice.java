@@ -0,0 +1,1265 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class implements <b>cyclic</b> slices over <code>long</code> arrays.
+ * It offers the same API as {@link Slice}, yet operates directly on the
+ * primitive array so that no element is ever boxed.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+public class LongSlice implements Iterable<Long> {
+
+    /**
+     * The minimum number of swaps a reversal must take to be split across
+     * the fork/join pool, which is also the maximum number of swaps done by
+     * a single task.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    /**
+     * The actual array being sliced.
+     */
+    private final long[] array;
+
+    /**
+     * The starting index of this slice within <code>array</code>.
+     */
+    private int fromIndex;
+
+    /**
+     * The size of this slice. See {@link Slice} for the reasons of caching the
+     * size instead of the ending index.
+     */
+    private int size;
+
+    /**
+     * Constructs a new slice for <code>array</code> starting at
+     * <code>fromIndex</code> and ending at <code>toIndex - 1</code>.
+     *
+     * @param array     the array being sliced.
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     */
+    private LongSlice(long[] array, int fromIndex, int toIndex) {
+        checkArray(array);
+        checkIndexForArray(array, fromIndex);
+        checkIndexForArray(array, toIndex);
+        this.array = array;
+        this.fromIndex = fromIndex;
+        this.size = fromIndex <= toIndex ?
+                    toIndex - fromIndex :
+                    array.length - fromIndex + toIndex;
+    }
+
+    /**
+     * Initiates the fluent API for constructing slices.
+     *
+     * @return array selector.
+     */
+    public static ArraySelector create() {
+        return new ArraySelector();
+    }
+
+    /**
+     * Implements an array selector.
+     */
+    public static class ArraySelector {
+
+        /**
+         * Creates a start index selector.
+         *
+         * @param  array the chosen array.
+         * @return start index selector.
+         */
+        public StartIndexSelector withArray(long[] array) {
+            return new StartIndexSelector(array);
+        }
+    }
+
+    /**
+     * Implements a start index selector.
+     */
+    public static class StartIndexSelector {
+
+        /**
+         * The array being sliced.
+         */
+        private final long[] array;
+
+        /**
+         * Constructs this start index selector.
+         *
+         * @param array the array being sliced.
+         */
+        public StartIndexSelector(long[] array) {
+            this.array = array;
+        }
+
+        /**
+         * Returns a slice covering the entire array in the same order as
+         * components appear in the array.
+         *
+         * @return a slice.
+         */
+        public LongSlice all() {
+            checkArray(array);
+            return new LongSlice(array, 0, array.length);
+        }
+
+        /**
+         * Chooses a particular starting index of a slice being constructed.
+         *
+         * @param  fromIndex the starting index.
+         * @return second index selector.
+         */
+        public SecondIndexSelector startingFrom(int fromIndex) {
+            return new SecondIndexSelector(array, fromIndex);
+        }
+    }
+
+    /**
+     * Implements second index selector.
+     */
+    public static class SecondIndexSelector {
+
+        /**
+         * The array being sliced.
+         */
+        private final long[] array;
+
+        /**
+         * The starting index of a slice being constructed.
+         */
+        private final int fromIndex;
+
+        /**
+         * Constructs this second index selector.
+         *
+         * @param array     the array being sliced.
+         * @param fromIndex the starting index of the slice.
+         */
+        public SecondIndexSelector(long[] array, int fromIndex) {
+            this.array = array;
+            this.fromIndex = fromIndex;
+        }
+
+        /**
+         * Returns a slice covering everything starting from
+         * <code>fromIndex</code>.
+         *
+         * @return a slice.
+         */
+        public LongSlice untilEnd() {
+            checkArray(array);
+            return new LongSlice(array, fromIndex, array.length);
+        }
+
+        /**
+         * Returns a slice starting at <code>fromIndex</code> and ending at
+         * <code>toIndex</code>. If <code>fromIndex</code> is larger than
+         * <code>toIndex</code>, the slice wraps around the tail of the array
+         * being sliced.
+         *
+         * @param  toIndex the end index (exclusive).
+         * @return a slice.
+         */
+        public LongSlice until(int toIndex) {
+            return new LongSlice(array, fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if this slice is empty.
+     *
+     * @return a boolean value.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the current size of this slice.
+     *
+     * @return the current size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Accesses an element. The indices wrap around to the beginning of the
+     * underlying array.
+     *
+     * @param index the target index element.
+     * @return the element at the specified index.
+     */
+    public long get(final int index) {
+        checkAccessIndex(index);
+        return array[physicalIndex(index)];
+    }
+
+    /**
+     * Sets a new value at slice index <code>index</code>.
+     *
+     * @param index the target component index.
+     * @param value the new value to set.
+     */
+    public void set(final int index, final long value) {
+        checkAccessIndex(index);
+        array[physicalIndex(index)] = value;
+    }
+
+    /**
+     * Moves this slice. If <code>delta</code> is negative, moves this slice to
+     * the left <code>-delta</code> steps. Otherwise, moves this slice
+     * <code>delta</code> steps to the right. In any case, this slice may wrap
+     * around and reappear at the opposite end of the covered array.
+     *
+     * @param delta the movement delta.
+     */
+    public void move(int delta) {
+        SliceMetrics.pointerMoved();
+
+        if (delta < 0) {
+            moveLeft(-delta);
+        } else {
+            moveRight(delta);
+        }
+    }
+
+    /**
+     * Shifts the head of this slice. If <code>delta</code> is negative, expands
+     * the head of this slice <code>-delta</code> amount of array components.
+     *
+     * @param delta the shift delta.
+     */
+    public void moveHeadPointer(int delta) {
+        SliceMetrics.pointerMoved();
+
+        if (delta < 0) {
+            expandHead(-delta);
+        } else {
+            contractHead(delta);
+        }
+    }
+
+    /**
+     * Shifts the tail of this slice. If <code>delta</code> is negative,
+     * this operations contracts the tail of this slice by
+     * <code>-delta</code> array components. Otherwise, expands tail of this
+     * slice <code>delta</code> array components.
+     *
+     * @param delta the shift delta.
+     */
+    public void moveTailPointer(int delta) {
+        SliceMetrics.pointerMoved();
+
+        if (delta < 0) {
+            contractTail(-delta);
+        } else {
+            expandTail(delta);
+        }
+    }
+
+    /**
+     * Reverses the array range covered by this slice.
+     */
+    public void reverse() {
+        reverseRange(0, size);
+    }
+
+    /**
+     * Reverses the slice components with indices from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive). The rest of this slice
+     * remains intact.
+     *
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     */
+    public void reverse(final int fromIndex, final int toIndex) {
+        checkSliceRange(fromIndex, toIndex);
+        reverseRange(fromIndex, toIndex);
+    }
+
+    /**
+     * Reverses this slice as {@link #reverse()} does, splitting the swaps
+     * across the common {@link ForkJoinPool} if there are at least
+     * <code>PARALLEL_THRESHOLD</code> of them.
+     */
+    public void parallelReverse() {
+        parallelReverseRange(0, size);
+    }
+
+    /**
+     * Reverses the slice components with indices from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive) as
+     * {@link #reverse(int, int)} does, in parallel if the range is large.
+     *
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     */
+    public void parallelReverse(final int fromIndex, final int toIndex) {
+        checkSliceRange(fromIndex, toIndex);
+        parallelReverseRange(fromIndex, toIndex);
+    }
+
+    /**
+     * Rotates this slice as {@link #rotate(int)} does. The rotation consists
+     * of three reversals, each of which runs in parallel if it is large.
+     *
+     * @param delta rotation delta.
+     */
+    public void parallelRotate(final int delta) {
+        if (size < 2) {
+            return;
+        }
+
+        final int steps = Math.floorMod(delta, size);
+
+        if (steps == 0) {
+            return;
+        }
+
+        // Rotating to the right by 'steps' is the same as reversing the
+        // entire slice and then the two blocks on both sides of 'steps'.
+        parallelReverseRange(0, size);
+        parallelReverseRange(0, steps);
+        parallelReverseRange(steps, size);
+    }
+
+    /**
+     * Rotates this slice. If <code>delta</code> is negative, rotates to the
+     * left <code>-delta</code> array components. Otherwise, rotates to the
+     * right <code>delta</code> array components.
+     *
+     * @param delta rotation delta.
+     */
+    public void rotate(int delta) {
+        if (delta < 0) {
+            rotateLeft(-delta);
+        } else {
+            rotateRight(delta);
+        }
+    }
+
+    /**
+     * Returns a new array holding the components of this slice in order.
+     *
+     * @return an array of length <code>size()</code>.
+     */
+    public long[] toArray() {
+        final long[] result = new long[size];
+        copyTo(result, 0);
+        return result;
+    }
+
+    /**
+     * Copies the components of this slice to <code>dest</code> starting at
+     * <code>destPos</code>. The range covered by this slice consists of at most
+     * two contiguous segments of the underlying array, each of which is copied
+     * with a single call to {@link System#arraycopy}.
+     *
+     * @param dest    the destination array.
+     * @param destPos the starting index in <code>dest</code>.
+     */
+    public void copyTo(final long[] dest, final int destPos) {
+        checkArray(dest);
+        checkBulkRange(dest.length, destPos, size);
+        final int headLength = headSegmentLength(size);
+        System.arraycopy(array, fromIndex, dest, destPos, headLength);
+        System.arraycopy(array,
+                         0,
+                         dest,
+                         destPos + headLength,
+                         size - headLength);
+    }
+
+    /**
+     * Copies <code>len</code> components from <code>src</code>, starting at
+     * <code>srcPos</code>, to the beginning of this slice. Just like
+     * {@link #copyTo(long[], int)}, this takes at most two calls to
+     * {@link System#arraycopy}.
+     *
+     * @param src    the source array.
+     * @param srcPos the starting index in <code>src</code>.
+     * @param len    the number of components to copy.
+     */
+    public void copyFrom(final long[] src, final int srcPos, final int len) {
+        checkArray(src);
+        checkBulkRange(src.length, srcPos, len);
+
+        if (len > size) {
+            throw new IndexOutOfBoundsException(
+                    "Cannot copy " + len + " components to a slice of " +
+                    "size " + size + ".");
+        }
+
+        final int headLength = headSegmentLength(len);
+        System.arraycopy(src, srcPos, array, fromIndex, headLength);
+        System.arraycopy(src, srcPos + headLength, array, 0, len - headLength);
+    }
+
+    /**
+     * Sets every component of this slice to <code>value</code>.
+     *
+     * @param value the value to fill with.
+     */
+    public void fill(final long value) {
+        final int headEnd = fromIndex + headSegmentLength(size);
+        Arrays.fill(array, fromIndex, headEnd, value);
+        Arrays.fill(array, 0, size - (headEnd - fromIndex), value);
+    }
+
+    /**
+     * Returns the index of the first occurrence of <code>value</code> in this
+     * slice, or <code>-1</code> if there is no such component.
+     *
+     * @param value the value to search for.
+     * @return the index of <code>value</code> or <code>-1</code>.
+     */
+    public int indexOf(final long value) {
+        final int headEnd = fromIndex + headSegmentLength(size);
+        final int headIndex = indexOf(array, fromIndex, headEnd, value);
+
+        if (headIndex >= 0) {
+            return headIndex - fromIndex;
+        }
+
+        final int tailIndex =
+                indexOf(array, 0, size - (headEnd - fromIndex), value);
+
+        return tailIndex >= 0 ? tailIndex + (headEnd - fromIndex) : -1;
+    }
+
+    /**
+     * Returns <code>true</code> if this slice contains <code>value</code>.
+     *
+     * @param value the value to search for.
+     * @return a boolean value.
+     */
+    public boolean contains(final long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns the index of the first component at which this slice and
+     * <code>other</code> differ, or <code>-1</code> if they have equal
+     * contents. If one of the slices is a proper prefix of the other, returns
+     * the size of the shorter one. Each pair of contiguous runs is compared by
+     * {@link Arrays#mismatch}, which the JVM compiles to vector instructions.
+     *
+     * @param other the slice to compare against.
+     * @return the index of the first mismatch or <code>-1</code>.
+     */
+    public int mismatch(final LongSlice other) {
+        final int length = Math.min(size, other.size);
+        int i = 0;
+
+        while (i < length) {
+            final int a = physicalIndex(i);
+            final int b = other.physicalIndex(i);
+            final int run = Math.min(length - i,
+                                     Math.min(array.length - a,
+                                              other.array.length - b));
+            final int m = Arrays.mismatch(array, a, a + run,
+                                          other.array, b, b + run);
+
+            if (m >= 0) {
+                return i + m;
+            }
+
+            i += run;
+        }
+
+        return size == other.size ? -1 : length;
+    }
+
+    /**
+     * Returns <code>true</code> if this slice and <code>other</code> have the
+     * same components in the same order.
+     *
+     * @param other the slice to compare against.
+     * @return a boolean value.
+     */
+    public boolean contentEquals(final LongSlice other) {
+        return size == other.size && mismatch(other) < 0;
+    }
+
+    /**
+     * Returns the smallest component of this slice.
+     *
+     * @return the minimum.
+     * @throws NoSuchElementException if this slice is empty.
+     */
+    public long min() {
+        checkNotEmpty();
+        final int headEnd = fromIndex + headSegmentLength(size);
+        final long first = array[physicalIndex(0)];
+        return Math.min(
+                min(array, fromIndex, headEnd, first),
+                min(array, 0, size - (headEnd - fromIndex), first));
+    }
+
+    /**
+     * Returns the largest component of this slice.
+     *
+     * @return the maximum.
+     * @throws NoSuchElementException if this slice is empty.
+     */
+    public long max() {
+        checkNotEmpty();
+        final int headEnd = fromIndex + headSegmentLength(size);
+        final long first = array[physicalIndex(0)];
+        return Math.max(
+                max(array, fromIndex, headEnd, first),
+                max(array, 0, size - (headEnd - fromIndex), first));
+    }
+
+    /**
+     * Returns the sum of the components of this slice.
+     *
+     * @return the sum.
+     */
+    public long sum() {
+        final int headEnd = fromIndex + headSegmentLength(size);
+        return sum(array, fromIndex, headEnd) +
+               sum(array, 0, size - (headEnd - fromIndex));
+    }
+
+    /**
+     * Sorts this slice into ascending order by {@link Arrays#sort}. The two
+     * segments of a slice that wraps around the end of the underlying array
+     * are sorted separately and then merged in place, as in
+     * {@link Slice#sort(java.util.Comparator)}, so that no array component
+     * outside of the slice is touched.
+     */
+    public void sort() {
+        sort(false);
+    }
+
+    /**
+     * Sorts this slice into ascending order as {@link #sort()} does, except
+     * that the segments are sorted by {@link Arrays#parallelSort}.
+     */
+    public void parallelSort() {
+        sort(true);
+    }
+
+    /**
+     * Returns the iterator over this slice.
+     *
+     * @return the iterator.
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        SliceMetrics.iteratorCreated();
+        return new LongSliceIterator();
+    }
+
+    /**
+     * Returns the textual representation of this slice.
+     *
+     * @return a string.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < size; ++i) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+
+            sb.append(array[physicalIndex(i)]);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Checks that the input array is not <code>null</code>.
+     *
+     * @param array the array.
+     */
+    private static void checkArray(final long[] array) {
+        if (array == null) {
+            throw new NullPointerException("Input array is null.");
+        }
+    }
+
+    /**
+     * Checks that <code>index</code> is legal for an <code>array</code>.
+     *
+     * @param array the array.
+     * @param index the index.
+     */
+    private static void checkIndexForArray(long[] array, int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "The index (" + index + ") may not be negative.");
+        }
+
+        if (index > array.length) {
+            throw new IllegalArgumentException(
+                    "The index (" + index + ") is too large. Should be at " +
+                    "most " + array.length);
+        }
+    }
+
+    /**
+     * Checks that the range of <code>length</code> components starting at
+     * <code>index</code> fits in an array of length <code>arrayLength</code>.
+     *
+     * @param arrayLength the length of the array.
+     * @param index       the starting index of the range.
+     * @param length      the length of the range.
+     */
+    private static void checkBulkRange(final int arrayLength,
+                                       final int index,
+                                       final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(
+                    "The range length is negative: " + length);
+        }
+
+        if (index < 0 || index > arrayLength - length) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + index + ", " + ((long) index + length) +
+                    ") does not fit in an array of length " + arrayLength +
+                    ".");
+        }
+    }
+
+    /**
+     * Returns the number of the first <code>length</code> slice components
+     * that reside between <code>fromIndex</code> and the end of the underlying
+     * array. The remaining components continue from the beginning of the
+     * array.
+     *
+     * @param length the number of leading slice components to consider.
+     * @return the length of the head segment.
+     */
+    private int headSegmentLength(final int length) {
+        return Math.min(length, array.length - fromIndex);
+    }
+
+    /**
+     * Checks that the range of slice indices from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive) is valid.
+     *
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     */
+    private void checkSliceRange(final int fromIndex, final int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(
+                    "fromIndex (" + fromIndex + ") is larger than toIndex (" +
+                    toIndex + ").");
+        }
+
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + fromIndex + ", " + toIndex + ") is " +
+                    "invalid. Should be within [0, " + size + "].");
+        }
+    }
+
+    /**
+     * Returns the index of the first occurrence of <code>value</code> in
+     * <code>array[from], ..., array[to - 1]</code>, or <code>-1</code>.
+     *
+     * @param array the array to search.
+     * @param from  the starting (inclusive) index.
+     * @param to    the ending (exclusive) index.
+     * @param value the value to search for.
+     * @return the array index of <code>value</code> or <code>-1</code>.
+     */
+    private static int indexOf(final long[] array,
+                               final int from,
+                               final int to,
+                               final long value) {
+        for (int i = from; i < to; ++i) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /*
+     * The following reductions are plain counted loops over a contiguous range
+     * of the array, which the JIT compiler can unroll and, where the platform
+     * supports it, vectorize.
+     */
+
+    private static long min(final long[] array,
+                            final int from,
+                            final int to,
+                            long min) {
+        for (int i = from; i < to; ++i) {
+            min = Math.min(min, array[i]);
+        }
+
+        return min;
+    }
+
+    private static long max(final long[] array,
+                            final int from,
+                            final int to,
+                            long max) {
+        for (int i = from; i < to; ++i) {
+            max = Math.max(max, array[i]);
+        }
+
+        return max;
+    }
+
+    private static long sum(final long[] array,
+                            final int from,
+                            final int to) {
+        long sum = 0;
+
+        for (int i = from; i < to; ++i) {
+            sum += array[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Checks that this slice is not empty.
+     */
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("The slice is empty.");
+        }
+    }
+
+    /**
+     * Checks the access indices.
+     *
+     * @param index the index to check.
+     */
+    private void checkAccessIndex(int index) {
+        final int size = size();
+
+        if (size == 0) {
+            throw new NoSuchElementException("Reading from an empty slice.");
+        }
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The input index is invalid: " + index + ". Should be " +
+                    "in range [0, " + (size - 1) + "].");
+        }
+    }
+
+    /**
+     * Maps the slice index <code>index</code> to the index of the backing
+     * array without checking it. Since both <code>fromIndex</code> and
+     * <code>index</code> are at most <code>array.length</code>, a conditional
+     * subtraction replaces the modulo. The sign of the difference selects
+     * whether to add <code>array.length</code> back, so no branch is taken.
+     *
+     * @param index the slice index.
+     * @return the corresponding index of <code>array</code>.
+     */
+    private int physicalIndex(final int index) {
+        final int i = index - (array.length - fromIndex);
+        return i + ((i >> 31) & array.length);
+    }
+
+    /**
+     * Expands the front of this slice by <code>amount</code> array components.
+     * This slice may "cycle" the same way as at motion to the left or right.
+     *
+     * @param amount the expansion length.
+     */
+    private void expandHead(int amount) {
+        checkNotNegative(amount);
+        final int actualAmount = Math.min(amount, array.length - size());
+        fromIndex -= actualAmount;
+        size += actualAmount;
+
+        if (fromIndex < 0) {
+            fromIndex += array.length;
+            SliceMetrics.wrappedAround();
+        }
+    }
+
+    /**
+     * Contracts the front of this slice by <code>amount</code> array
+     * components.
+     *
+     * @param amount the contraction length.
+     */
+    private void contractHead(int amount) {
+        checkNotNegative(amount);
+        final int actualAmount = Math.min(amount, size());
+        fromIndex += actualAmount;
+        size -= actualAmount;
+
+        if (fromIndex >= array.length) {
+            fromIndex -= array.length;
+            SliceMetrics.wrappedAround();
+        }
+    }
+
+    /**
+     * Expands the back of this slice by <code>amount</code> array components.
+     *
+     * @param amount the expansion length.
+     */
+    private void expandTail(int amount) {
+        checkNotNegative(amount);
+        size += Math.min(amount, array.length - size());
+    }
+
+    /**
+     * Contracts the back of this slice by <code>amount</code> array components.
+     *
+     * @param amount the contraction length.
+     */
+    private void contractTail(int amount) {
+        checkNotNegative(amount);
+        size -= Math.min(amount, size());
+    }
+
+    /**
+     * Moves this slice <code>steps</code> to the left. If the head of this
+     * slice, while moving to the left, leaves the beginning of the underlying
+     * array, it reappears at the right end of the array.
+     *
+     * @param steps the amount of steps to move.
+     */
+    private void moveLeft(int steps) {
+        checkNotNegative(steps);
+
+        if (array.length == 0) {
+            return;
+        }
+
+        fromIndex -= steps % array.length;
+
+        if (fromIndex < 0) {
+            fromIndex += array.length;
+            SliceMetrics.wrappedAround();
+        }
+    }
+
+    /**
+     * Moves this slice <code>steps</code> amount of steps to the right. If the
+     * tail of this slice, while moving to the right, leaves the tail of the
+     * underlying array, it reappears at the beginning of the array.
+     *
+     * @param steps the amount of steps to move.
+     */
+    private void moveRight(int steps) {
+        checkNotNegative(steps);
+
+        if (array.length == 0) {
+            return;
+        }
+
+        fromIndex += steps % array.length;
+
+        if (fromIndex >= array.length) {
+            fromIndex -= array.length;
+            SliceMetrics.wrappedAround();
+        }
+    }
+
+    /**
+     * Cycles the array range covered by this slice <code>steps</code> steps to
+     * the left.
+     *
+     * @param steps the amount of steps to cycle.
+     */
+    private void rotateLeft(int steps) {
+        if (size() < 2) {
+            // Trivially cycled.
+            return;
+        }
+
+        final int actualSteps = steps % size();
+
+        if (actualSteps == 0) {
+            return;
+        }
+
+        if (actualSteps <= size() - actualSteps) {
+            rotateLeftImpl(actualSteps);
+        } else {
+            rotateRightImpl(size() - actualSteps);
+        }
+    }
+
+    /**
+     * Cycles the array range covered by this slice <code>steps</code> steps to
+     * the right.
+     *
+     * @param steps the amount of steps to cycle.
+     */
+    private void rotateRight(int steps) {
+        if (size() < 2) {
+            // Trivially cycled.
+            return;
+        }
+
+        final int actualSteps = steps % size();
+
+        if (actualSteps == 0) {
+            return;
+        }
+
+        if (actualSteps <= size() - actualSteps) {
+            rotateRightImpl(actualSteps);
+        } else {
+            rotateLeftImpl(size() - actualSteps);
+        }
+    }
+
+    /**
+     * Implements the rotation of a slice to the left. The rotation is done in
+     * place by reversing the first <code>steps</code> components, then the
+     * rest of the components, and finally the entire slice.
+     *
+     * @param steps the amount of steps.
+     */
+    private void rotateLeftImpl(int steps) {
+        checkNotNegative(steps);
+        reverseRange(0, steps);
+        reverseRange(steps, size);
+        reverseRange(0, size);
+    }
+
+    /**
+     * Implements the rotation of a slice to the right. Just as
+     * {@link #rotateLeftImpl(int)}, this one does not allocate any memory.
+     *
+     * @param steps the amount of steps.
+     */
+    private void rotateRightImpl(int steps) {
+        checkNotNegative(steps);
+        reverseRange(0, size - steps);
+        reverseRange(size - steps, size);
+        reverseRange(0, size);
+    }
+
+    /**
+     * Reverses the slice components with indices from <code>from</code>
+     * (inclusive) to <code>to</code> (exclusive). The two pointers walk the
+     * underlying array directly; the loop only checks for wrapping around
+     * the end of the array between runs of swaps, and there are at most
+     * three such runs.
+     *
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     */
+    private void reverseRange(final int from, final int to) {
+        final int swaps = (to - from) / 2;
+        SliceMetrics.elementsMoved(2L * swaps);
+        swapPairs(from, to, swaps);
+    }
+
+    /**
+     * Swaps the slice components <code>from + k</code> and
+     * <code>to - 1 - k</code> for each <code>k</code> from zero to
+     * <code>swaps - 1</code>, the way {@link #reverseRange(int, int)} does.
+     *
+     * @param from  the starting (inclusive) slice index.
+     * @param to    the ending (exclusive) slice index.
+     * @param swaps the number of swaps.
+     */
+    private void swapPairs(final int from, final int to, final int swaps) {
+        int swapsLeft = swaps;
+
+        if (swapsLeft == 0) {
+            return;
+        }
+
+        int left = physicalIndex(from);
+        int right = physicalIndex(to - 1);
+
+        while (swapsLeft > 0) {
+            // The number of swaps until one of the pointers wraps around.
+            final int run = Math.min(swapsLeft,
+                                     Math.min(array.length - left, right + 1));
+
+            for (int i = 0; i < run; ++i, ++left, --right) {
+                final long tmp = array[left];
+                array[left] = array[right];
+                array[right] = tmp;
+            }
+
+            swapsLeft -= run;
+
+            if (left == array.length) {
+                left = 0;
+            }
+
+            if (right < 0) {
+                right = array.length - 1;
+            }
+        }
+    }
+
+    /**
+     * Reverses the slice components with indices from <code>from</code>
+     * (inclusive) to <code>to</code> (exclusive), in parallel if there are
+     * at least <code>PARALLEL_THRESHOLD</code> swaps to do.
+     *
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     */
+    private void parallelReverseRange(final int from, final int to) {
+        final int swaps = (to - from) / 2;
+        SliceMetrics.elementsMoved(2L * swaps);
+
+        if (swaps < PARALLEL_THRESHOLD) {
+            swapPairs(from, to, swaps);
+        } else {
+            ForkJoinPool.commonPool().invoke(
+                    new ReverseTask(from, to, 0, swaps));
+        }
+    }
+
+    /**
+     * Implements {@link #sort()} and {@link #parallelSort()}.
+     *
+     * @param parallel whether to sort by {@link Arrays#parallelSort}.
+     */
+    private void sort(final boolean parallel) {
+        final int headLength = headSegmentLength(size);
+        sortArrayRange(fromIndex, fromIndex + headLength, parallel);
+
+        if (headLength < size) {
+            sortArrayRange(0, size - headLength, parallel);
+            mergeRange(0, headLength, size);
+        }
+    }
+
+    /**
+     * Sorts the array components <code>[from, to)</code>.
+     *
+     * @param from     the starting (inclusive) array index.
+     * @param to       the ending (exclusive) array index.
+     * @param parallel whether to sort by {@link Arrays#parallelSort}.
+     */
+    private void sortArrayRange(final int from,
+                                final int to,
+                                final boolean parallel) {
+        if (parallel) {
+            Arrays.parallelSort(array, from, to);
+        } else {
+            Arrays.sort(array, from, to);
+        }
+    }
+
+    /**
+     * Merges the sorted runs of slice components <code>[from, middle)</code>
+     * and <code>[middle, to)</code> in place, as
+     * {@link Slice#sort(java.util.Comparator)} does.
+     *
+     * @param from   the starting (inclusive) slice index.
+     * @param middle the starting slice index of the second run.
+     * @param to     the ending (exclusive) slice index.
+     */
+    private void mergeRange(final int from, final int middle, final int to) {
+        if (from == middle || middle == to) {
+            return;
+        }
+
+        final long last = array[physicalIndex(middle - 1)];
+        final long first = array[physicalIndex(middle)];
+
+        if (last <= first) {
+            // Already in order.
+            return;
+        }
+
+        final int firstCut;
+        final int secondCut;
+
+        if (middle - from >= to - middle) {
+            firstCut = (from + middle) >>> 1;
+            secondCut = lowerBound(middle, to, array[physicalIndex(firstCut)]);
+        } else {
+            secondCut = (middle + to) >>> 1;
+            firstCut = upperBound(from, middle,
+                                  array[physicalIndex(secondCut)]);
+        }
+
+        final int newMiddle = firstCut + (secondCut - middle);
+        rotateRange(firstCut, middle, secondCut);
+        mergeRange(from, firstCut, newMiddle);
+        mergeRange(newMiddle, secondCut, to);
+    }
+
+    /**
+     * Returns the first slice index in <code>[from, to)</code> whose component
+     * is not less than <code>key</code>, or <code>to</code> if there is none.
+     *
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     * @param key  the key to search for.
+     * @return the lower bound of <code>key</code>.
+     */
+    private int lowerBound(int from, int to, final long key) {
+        while (from < to) {
+            final int mid = (from + to) >>> 1;
+
+            if (array[physicalIndex(mid)] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+
+        return from;
+    }
+
+    /**
+     * Returns the first slice index in <code>[from, to)</code> whose component
+     * is greater than <code>key</code>, or <code>to</code> if there is none.
+     *
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     * @param key  the key to search for.
+     * @return the upper bound of <code>key</code>.
+     */
+    private int upperBound(int from, int to, final long key) {
+        while (from < to) {
+            final int mid = (from + to) >>> 1;
+
+            if (key < array[physicalIndex(mid)]) {
+                to = mid;
+            } else {
+                from = mid + 1;
+            }
+        }
+
+        return from;
+    }
+
+    /**
+     * Swaps the adjacent blocks of slice components <code>[from, middle)</code>
+     * and <code>[middle, to)</code> by three reversals. Unlike
+     * {@link #reverse()} and {@link #rotate(int)}, sorting permutes the
+     * components in place, so the swaps are not counted in
+     * {@link SliceMetrics}.
+     *
+     * @param from   the starting (inclusive) slice index.
+     * @param middle the starting slice index of the second block.
+     * @param to     the ending (exclusive) slice index.
+     */
+    private void rotateRange(final int from, final int middle, final int to) {
+        swapPairs(from, middle, (middle - from) / 2);
+        swapPairs(middle, to, (to - middle) / 2);
+        swapPairs(from, to, (to - from) / 2);
+    }
+
+    /**
+     * Checks that <code>number</code> is not negative.
+     *
+     * @param number the number to check.
+     */
+    private static void checkNotNegative(final int number) {
+        if (number < 0) {
+            throw new IllegalArgumentException(
+                    "The input number is negative: " + number);
+        }
+    }
+
+    /**
+     * This class implements an iterator over this slice's array components.
+     */
+    private class LongSliceIterator implements PrimitiveIterator.OfLong {
+
+        /**
+         * The index of the next slice component to return.
+         */
+        private int index;
+
+        /**
+         * The number of components yet to iterate.
+         */
+        private int toIterateLeft;
+
+        /**
+         * Constructs a new slice iterator.
+         */
+        LongSliceIterator() {
+            toIterateLeft = LongSlice.this.size;
+        }
+
+        /**
+         * Returns <code>true</code> if there is components yet to iterate.
+         *
+         * @return a boolean value.
+         */
+        @Override
+        public boolean hasNext() {
+            return toIterateLeft > 0;
+        }
+
+        /**
+         * Returns the next slice component.
+         *
+         * @return a component.
+         */
+        @Override
+        public long nextLong() {
+            if (toIterateLeft == 0) {
+                throw new NoSuchElementException("Iterator exceeded.");
+            }
+
+            --toIterateLeft;
+            return array[physicalIndex(index++)];
+        }
+    }
+
+    /**
+     * This class implements a task reversing a slice range. The task owns the
+     * swaps from <code>lo</code> (inclusive) to <code>hi</code> (exclusive);
+     * the swaps are independent of each other, so the task simply splits
+     * them in halves until there are at most
+     * <code>PARALLEL_THRESHOLD</code> of them.
+     */
+    @SuppressWarnings("serial")
+    private final class ReverseTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int lo;
+        private final int hi;
+
+        ReverseTask(int from, int to, int lo, int hi) {
+            this.from = from;
+            this.to = to;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_THRESHOLD) {
+                swapPairs(from + lo, to - lo, hi - lo);
+                return;
+            }
+
+            final int mid = (lo + hi) >>> 1;
+            invokeAll(new ReverseTask(from, to, lo, mid),
+                      new ReverseTask(from, to, mid, hi));
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package net.coderodde.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class implements a cyclic slice of fixed-width records stored in a
+ * memory-mapped file. The starting index and the size of the slice are kept
+ * in a small header at the beginning of the file, so that the slice survives
+ * a restart: moving the slice or shifting its pointers only updates the
+ * header, and the records are read straight from the page cache.
+ *
+ * <p>The file layout is as follows:
+ * <pre>
+ * offset  0: int  magic number
+ * offset  4: int  format version
+ * offset  8: int  record size in bytes
+ * offset 12: int  capacity in records
+ * offset 16: long starting index (high 32 bits) and size (low 32 bits)
+ * offset 64: the records
+ * </pre>
+ * The starting index and the size share a single aligned long, so that they
+ * are always updated together. The file is mapped as several regions of at
+ * most 1 GiB of records each, one region per chunk of the slice; the first
+ * region also maps the header. Hence the file is not limited by the 2 GiB
+ * cap of a single mapping.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the record type.
+ * @version 1.61
+ */
+public final class MappedSlice<E> extends OffHeapSlice<E> implements Closeable {
+
+    /**
+     * The magic number identifying slice files.
+     */
+    private static final int MAGIC = 0x534C4943; // "SLIC"
+
+    /**
+     * The version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes. The records start at a cache line
+     * boundary.
+     */
+    static final int HEADER_SIZE = 64;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int STATE_OFFSET = 16;
+
+    /**
+     * The channel of the mapped file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mappings of the file. The first one starts with the header.
+     */
+    private final MappedByteBuffer[] regions;
+
+    /**
+     * Constructs a new mapped slice.
+     *
+     * @param channel the channel of the mapped file.
+     * @param regions the mappings of the file.
+     * @param codec   the record codec.
+     */
+    private MappedSlice(FileChannel channel,
+                        MappedByteBuffer[] regions,
+                        RecordCodec<E> codec) {
+        super(chunksOf(regions),
+              codec,
+              fromIndexOf(regions[0].getLong(STATE_OFFSET)),
+              fromIndexOf(regions[0].getLong(STATE_OFFSET)));
+        this.channel = channel;
+        this.regions = regions;
+        // Restores the size; this also rewrites the same state to the header.
+        moveTailPointer(sizeOf(regions[0].getLong(STATE_OFFSET)));
+    }
+
+    /**
+     * Opens the slice stored in <code>file</code>. If the file does not exist
+     * or is empty, it is created with room for <code>capacity</code> records
+     * and the slice is empty. Otherwise, the slice is restored to the state
+     * it had when last modified.
+     *
+     * @param  <E>      the record type.
+     * @param  file     the file storing the slice.
+     * @param  capacity the maximum number of records.
+     * @param  codec    the record codec.
+     * @return the slice.
+     * @throws IOException if the file cannot be opened or is not a slice file
+     *                     created with the same record size and capacity.
+     */
+    public static <E> MappedSlice<E> open(Path file,
+                                          int capacity,
+                                          RecordCodec<E> codec)
+    throws IOException {
+        if (codec == null) {
+            throw new NullPointerException("Input codec is null.");
+        }
+
+        final int recordSize = checkRecordSize(codec);
+        return open(file,
+                    capacity,
+                    codec,
+                    Math.max(1, CHUNK_BYTES / recordSize));
+    }
+
+    /**
+     * Opens the slice stored in <code>file</code>, mapping at most
+     * <code>recordsPerRegion</code> records at a time. The layout of the file
+     * does not depend on <code>recordsPerRegion</code>.
+     *
+     * @param  <E>              the record type.
+     * @param  file             the file storing the slice.
+     * @param  capacity         the maximum number of records.
+     * @param  codec            the record codec.
+     * @param  recordsPerRegion the number of records in each region but the
+     *                          last one.
+     * @return the slice.
+     * @throws IOException if the file cannot be opened or is not a slice file
+     *                     created with the same record size and capacity.
+     */
+    static <E> MappedSlice<E> open(Path file,
+                                   int capacity,
+                                   RecordCodec<E> codec,
+                                   int recordsPerRegion) throws IOException {
+        if (file == null) {
+            throw new NullPointerException("Input file is null.");
+        }
+
+        if (codec == null) {
+            throw new NullPointerException("Input codec is null.");
+        }
+
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "The capacity is negative: " + capacity);
+        }
+
+        final int recordSize = checkRecordSize(codec);
+        final long fileSize = HEADER_SIZE + (long) capacity * recordSize;
+
+        final FileChannel channel =
+                FileChannel.open(file,
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE);
+
+        try {
+            final boolean created = channel.size() == 0L;
+
+            if (!created && channel.size() != fileSize) {
+                throw new IOException(
+                        "The size of " + file + " is " + channel.size() +
+                        " bytes, expected " + fileSize + ".");
+            }
+
+            final MappedByteBuffer[] regions =
+                    mapRegions(channel, capacity, recordSize, recordsPerRegion);
+            final MappedByteBuffer map = regions[0];
+
+            if (created) {
+                map.putInt(MAGIC_OFFSET, MAGIC);
+                map.putInt(VERSION_OFFSET, VERSION);
+                map.putInt(RECORD_SIZE_OFFSET, recordSize);
+                map.putInt(CAPACITY_OFFSET, capacity);
+                regions[0].putLong(STATE_OFFSET, 0L);
+            } else {
+                checkHeader(file, map, recordSize, capacity);
+            }
+
+            return new MappedSlice<>(channel, regions, codec);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Forces the header and the records to the storage device.
+     */
+    public void force() {
+        for (final MappedByteBuffer region : regions) {
+            region.force();
+        }
+    }
+
+    /**
+     * Forces this slice to the storage device and closes the file. The
+     * mapping itself is released once this slice is garbage collected, so
+     * the slice must not be used after closing.
+     *
+     * @throws IOException if closing the file fails.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Persists the new state in the header.
+     *
+     * @param fromIndex the new starting record index of this slice.
+     * @param size      the new size of this slice.
+     */
+    @Override
+    protected void pointersMoved(int fromIndex, int size) {
+        regions[0].putLong(STATE_OFFSET,
+                           ((long) fromIndex << 32) | (size & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Maps the header and <code>capacity</code> records of
+     * <code>recordSize</code> bytes as regions of at most
+     * <code>recordsPerRegion</code> records. The first region starts with the
+     * header.
+     *
+     * @param  channel          the channel of the file.
+     * @param  capacity         the number of records.
+     * @param  recordSize       the record size in bytes.
+     * @param  recordsPerRegion the number of records in each region but the
+     *                          last one.
+     * @return the regions.
+     * @throws IOException if mapping fails.
+     */
+    private static MappedByteBuffer[] mapRegions(FileChannel channel,
+                                                 int capacity,
+                                                 int recordSize,
+                                                 int recordsPerRegion)
+    throws IOException {
+        final int regionCount =
+                (int) ((capacity + (long) recordsPerRegion - 1) /
+                       recordsPerRegion);
+        final MappedByteBuffer[] regions =
+                new MappedByteBuffer[Math.max(regionCount, 1)];
+        long position = 0L;
+
+        for (int i = 0; i < regions.length; ++i) {
+            final long records =
+                    Math.min(recordsPerRegion,
+                             capacity - (long) i * recordsPerRegion);
+            final long size = records * recordSize + (i == 0 ? HEADER_SIZE : 0);
+            regions[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                     position,
+                                     size);
+            position += size;
+        }
+
+        return regions;
+    }
+
+    /**
+     * Returns the chunks of records in <code>regions</code>, skipping the
+     * header at the beginning of the first region.
+     *
+     * @param  regions the mappings of the file.
+     * @return the chunks.
+     */
+    private static ByteBuffer[] chunksOf(MappedByteBuffer[] regions) {
+        final ByteBuffer[] chunks = new ByteBuffer[regions.length];
+        chunks[0] = regions[0].slice(HEADER_SIZE,
+                                     regions[0].capacity() - HEADER_SIZE);
+
+        for (int i = 1; i < regions.length; ++i) {
+            chunks[i] = regions[i];
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Checks that the header describes a slice with the given parameters.
+     *
+     * @param file       the file being opened.
+     * @param map        the first mapping of the file.
+     * @param recordSize the expected record size.
+     * @param capacity   the expected capacity.
+     * @throws IOException if the header does not match.
+     */
+    private static void checkHeader(Path file,
+                                    MappedByteBuffer map,
+                                    int recordSize,
+                                    int capacity) throws IOException {
+        if (map.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException(file + " is not a slice file.");
+        }
+
+        if (map.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException(
+                    "Unsupported version of " + file + ": " +
+                    map.getInt(VERSION_OFFSET));
+        }
+
+        if (map.getInt(RECORD_SIZE_OFFSET) != recordSize ||
+            map.getInt(CAPACITY_OFFSET) != capacity) {
+            throw new IOException(
+                    file + " stores " + map.getInt(CAPACITY_OFFSET) +
+                    " records of " + map.getInt(RECORD_SIZE_OFFSET) +
+                    " bytes, expected " + capacity + " records of " +
+                    recordSize + " bytes.");
+        }
+
+        final long state = map.getLong(STATE_OFFSET);
+        final int fromIndex = fromIndexOf(state);
+        final int size = sizeOf(state);
+
+        if (fromIndex < 0 || fromIndex > capacity ||
+            size < 0 || size > capacity) {
+            throw new IOException("Corrupted header in " + file + ".");
+        }
+    }
+
+    /**
+     * Extracts the starting index from the packed state.
+     *
+     * @param state the packed state.
+     * @return the starting index.
+     */
+    private static int fromIndexOf(long state) {
+        return (int) (state >>> 32);
+    }
+
+    /**
+     * Extracts the size from the packed state.
+     *
+     * @param state the packed state.
+     * @return the size.
+     */
+    private static int sizeOf(long state) {
+        return (int) state;
+    }
+}
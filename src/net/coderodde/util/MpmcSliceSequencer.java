@@ -0,0 +1,278 @@
+package net.coderodde.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a lock-free, bounded, cyclic sequencer for any number
+ * of producer and consumer threads. Just as in {@link SpscSliceQueue}, the
+ * tail and the head of the underlying slice are monotonically growing
+ * sequence counters. Here, however, producers claim slots by a CAS on the
+ * tail counter, and consumers claim published slots by a CAS on the head
+ * counter.
+ *
+ * <p>Each slot of the backing array has an availability flag in the form of
+ * a sequence number. The slot at array index <code>i</code> with the flag
+ * equal to <code>s</code> is free for the producer claiming sequence
+ * <code>s</code>; once the element is written, the producer publishes it by
+ * setting the flag to <code>s + 1</code>. The consumer taking the element
+ * frees the slot for the next round by setting its flag to
+ * <code>s + capacity</code>. Since the flags tell exactly which slots are
+ * published, {@link #drain(Consumer, int)} claims a whole contiguous run of
+ * published slots with a single CAS.
+ *
+ * <p>The sequencer does not accept <code>null</code> elements.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the element type.
+ * @version 1.61
+ */
+public final class MpmcSliceSequencer<E> {
+
+    /**
+     * The handle for accessing the slot flags.
+     */
+    private static final VarHandle FLAGS =
+            MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * The backing array.
+     */
+    private final Object[] array;
+
+    /**
+     * The availability flag of each slot.
+     */
+    private final long[] flags;
+
+    /**
+     * The sequence number of the next slot to consume.
+     */
+    private final Sequence head = new Sequence(0L);
+
+    /**
+     * The sequence number of the next slot to claim for producing.
+     */
+    private final Sequence tail = new Sequence(0L);
+
+    /**
+     * Constructs a new sequencer holding at most <code>capacity</code>
+     * elements. The capacity must be at least two: with a single slot, the
+     * flag of a published slot, <code>s + 1</code>, would equal the flag of
+     * the same slot free for the next round, <code>s + capacity</code>.
+     *
+     * @param capacity the capacity of the sequencer.
+     */
+    public MpmcSliceSequencer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException(
+                    "The capacity must be at least 2: " + capacity);
+        }
+
+        this.array = new Object[capacity];
+        this.flags = new long[capacity];
+
+        for (int i = 0; i < capacity; ++i) {
+            FLAGS.setRelease(flags, i, (long) i);
+        }
+    }
+
+    /**
+     * Returns the maximum number of elements this sequencer can hold.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Returns the number of claimed and not yet consumed slots. The value is
+     * exact only when no thread is active.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        final long h = head.getAcquire();
+        final long t = tail.getAcquire();
+        return (int) Math.max(0L, Math.min(t - h, array.length));
+    }
+
+    /**
+     * Returns <code>true</code> if this sequencer appears empty.
+     *
+     * @return a boolean value.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Claims a slot, stores <code>element</code> in it and publishes it.
+     *
+     * @param element the element to store.
+     * @return <code>true</code> if the element was stored,
+     *         <code>false</code> if the sequencer is full.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("Null elements are not allowed.");
+        }
+
+        for (;;) {
+            final long t = tail.getAcquire();
+            final int i = index(t);
+            final long flag = (long) FLAGS.getAcquire(flags, i);
+
+            if (flag == t) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    array[i] = element;
+                    FLAGS.setRelease(flags, i, t + 1);
+                    return true;
+                }
+            } else if (flag < t) {
+                // The slot is still occupied by the previous round.
+                return false;
+            }
+
+            // Another producer claimed the slot; retry.
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Consumes the oldest published element.
+     *
+     * @return the oldest element or <code>null</code> if no element is
+     *         published.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        for (;;) {
+            final long h = head.getAcquire();
+            final int i = index(h);
+            final long flag = (long) FLAGS.getAcquire(flags, i);
+
+            if (flag == h + 1) {
+                if (head.compareAndSet(h, h + 1)) {
+                    final E element = (E) array[i];
+                    array[i] = null;
+                    FLAGS.setRelease(flags, i, h + array.length);
+                    return element;
+                }
+            } else if (flag < h + 1) {
+                // Not published yet.
+                return null;
+            }
+
+            // Another consumer took the element; retry.
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Claims the longest contiguous run of published elements, at most
+     * <code>maxElements</code> long, with a single CAS and passes the
+     * elements to <code>consumer</code> in order. If <code>consumer</code>
+     * throws, the whole run is still consumed: the elements not yet passed
+     * to it are discarded, since other consumers may already have claimed
+     * the elements after the run, and the exception is rethrown. If any
+     * element was discarded, the rethrown exception carries a suppressed
+     * {@link IllegalStateException} whose message tells how many. Unlike
+     * {@link SpscSliceQueue#drain(Consumer, int)}, which keeps the elements
+     * it did not pass to its consumer, no element can be handed back here.
+     *
+     * @param consumer    the consumer of the elements.
+     * @param maxElements the maximum number of elements to consume.
+     * @return the number of elements consumed.
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) {
+            throw new NullPointerException("Consumer is null.");
+        }
+
+        final int limit = Math.min(maxElements, array.length);
+
+        for (;;) {
+            final long h = head.getAcquire();
+            int n = 0;
+
+            while (n < limit &&
+                   (long) FLAGS.getAcquire(flags, index(h + n)) == h + n + 1) {
+                ++n;
+            }
+
+            if (n == 0) {
+                if (limit <= 0 ||
+                    (long) FLAGS.getAcquire(flags, index(h)) < h + 1) {
+                    return 0;
+                }
+
+                // Another consumer took the element; retry.
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (!head.compareAndSet(h, h + n)) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int i = index(h);
+            int freed = 0;
+
+            try {
+                while (freed < n) {
+                    final E element = (E) array[i];
+                    i = free(i, h + freed++);
+                    consumer.accept(element);
+                }
+            } catch (final Throwable t) {
+                // Free the rest of the claimed slots as well, discarding
+                // their elements; otherwise the producers would see the
+                // ring as full for good.
+                final int discarded = n - freed;
+
+                while (freed < n) {
+                    i = free(i, h + freed++);
+                }
+
+                if (discarded > 0) {
+                    t.addSuppressed(new IllegalStateException(
+                            "Discarded " + discarded + " claimed element(s) " +
+                            "after the consumer failed."));
+                }
+
+                throw t;
+            }
+
+            return n;
+        }
+    }
+
+    /**
+     * Frees the slot at array index <code>i</code>, holding the element with
+     * sequence number <code>sequence</code>, for the next round.
+     *
+     * @param i        the array index of the slot.
+     * @param sequence the sequence number of the slot.
+     * @return the array index of the next slot.
+     */
+    private int free(int i, long sequence) {
+        array[i] = null;
+        FLAGS.setRelease(flags, i, sequence + array.length);
+        return i + 1 == array.length ? 0 : i + 1;
+    }
+
+    /**
+     * Maps a sequence number to an index of the backing array.
+     *
+     * @param sequence the sequence number.
+     * @return the array index.
+     */
+    private int index(long sequence) {
+        return (int) (sequence % array.length);
+    }
+}
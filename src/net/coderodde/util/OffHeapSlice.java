@@ -0,0 +1,659 @@
+package net.coderodde.util;
+
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements <b>cyclic</b> slices over fixed-width records stored
+ * in {@link ByteBuffer}s. When the buffers are direct, the records live
+ * outside of the Java heap and are never scanned by the garbage collector.
+ * The records are encoded and decoded by a {@link RecordCodec} on each
+ * access, and the operations moving records around ({@link #reverse()} and
+ * {@link #rotate(int)}) copy raw bytes without decoding them.
+ *
+ * <p>The records are spread over one or more buffers, called chunks, each
+ * holding the same number of records except possibly the last one. A record
+ * index is mapped to a chunk index and a byte offset within that chunk, so a
+ * slice may hold up to {@link Integer#MAX_VALUE} records even though a single
+ * buffer cannot exceed 2 GiB. {@link #allocateDirect(int, RecordCodec)}
+ * allocates chunks of at most 1 GiB.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the record type.
+ * @version 1.61
+ */
+public class OffHeapSlice<E> implements Iterable<E> {
+
+    /**
+     * The maximum number of bytes in a chunk allocated by
+     * {@link #allocateDirect(int, RecordCodec)}, unless a single record is
+     * larger.
+     */
+    static final int CHUNK_BYTES = 1 << 30;
+
+    /**
+     * The buffers holding the records. The position of each is zero and its
+     * capacity is the number of bytes available for the records.
+     */
+    private final ByteBuffer[] chunks;
+
+    /**
+     * The number of records in each chunk but the last one.
+     */
+    private final int recordsPerChunk;
+
+    /**
+     * The codec for the records.
+     */
+    private final RecordCodec<E> codec;
+
+    /**
+     * The size of a single record in bytes.
+     */
+    private final int recordSize;
+
+    /**
+     * The maximum number of records <code>chunks</code> can hold.
+     */
+    private final int capacity;
+
+    /**
+     * Scratch space used for swapping two records.
+     */
+    private final byte[] leftRecord;
+
+    /**
+     * Scratch space used for swapping two records.
+     */
+    private final byte[] rightRecord;
+
+    /**
+     * The starting record index of this slice within <code>chunks</code>.
+     */
+    private int fromIndex;
+
+    /**
+     * The number of records in this slice.
+     */
+    private int size;
+
+    /**
+     * The number of times this slice has been moved or its pointers have been
+     * shifted.
+     */
+    private int modCount;
+
+    /**
+     * Constructs a new slice over the records in <code>buffer</code> starting
+     * at record index <code>fromIndex</code> and ending at record index
+     * <code>toIndex - 1</code>. Only the bytes between the position and the
+     * limit of <code>buffer</code> are used.
+     *
+     * @param buffer    the buffer holding the records.
+     * @param codec     the record codec.
+     * @param fromIndex the starting (inclusive) record index.
+     * @param toIndex   the ending (exclusive) record index.
+     */
+    protected OffHeapSlice(ByteBuffer buffer,
+                           RecordCodec<E> codec,
+                           int fromIndex,
+                           int toIndex) {
+        this(new ByteBuffer[]{ buffer }, codec, fromIndex, toIndex);
+    }
+
+    /**
+     * Constructs a new slice over the records in <code>chunks</code> starting
+     * at record index <code>fromIndex</code> and ending at record index
+     * <code>toIndex - 1</code>. The record indices run through the chunks in
+     * order. Only the bytes between the position and the limit of each chunk
+     * are used, and each chunk but the last one must hold the same number of
+     * records.
+     *
+     * @param chunks    the buffers holding the records.
+     * @param codec     the record codec.
+     * @param fromIndex the starting (inclusive) record index.
+     * @param toIndex   the ending (exclusive) record index.
+     */
+    protected OffHeapSlice(ByteBuffer[] chunks,
+                           RecordCodec<E> codec,
+                           int fromIndex,
+                           int toIndex) {
+        if (chunks == null) {
+            throw new NullPointerException("Input chunk array is null.");
+        }
+
+        if (codec == null) {
+            throw new NullPointerException("Input codec is null.");
+        }
+
+        this.recordSize = checkRecordSize(codec);
+        this.chunks = new ByteBuffer[chunks.length];
+
+        for (int i = 0; i < chunks.length; ++i) {
+            if (chunks[i] == null) {
+                throw new NullPointerException("Input buffer is null.");
+            }
+
+            this.chunks[i] = chunks[i].slice().order(chunks[i].order());
+        }
+
+        this.recordsPerChunk = chunks.length == 0 ?
+                               0 :
+                               this.chunks[0].capacity() / recordSize;
+        this.capacity = checkChunks(this.chunks, recordSize, recordsPerChunk);
+        this.codec = codec;
+        this.leftRecord = new byte[recordSize];
+        this.rightRecord = new byte[recordSize];
+        checkIndexForCapacity(fromIndex);
+        checkIndexForCapacity(toIndex);
+        this.fromIndex = fromIndex == capacity ? 0 : fromIndex;
+        this.size = fromIndex <= toIndex ?
+                    toIndex - fromIndex :
+                    capacity - fromIndex + toIndex;
+    }
+
+    /**
+     * Allocates direct buffers for <code>capacity</code> records and returns
+     * an empty slice over them. The records are spread over as many chunks
+     * of at most 1 GiB as needed.
+     *
+     * @param  <E>      the record type.
+     * @param  capacity the maximum number of records.
+     * @param  codec    the record codec.
+     * @return an empty slice.
+     */
+    public static <E> OffHeapSlice<E> allocateDirect(int capacity,
+                                                     RecordCodec<E> codec) {
+        if (codec == null) {
+            throw new NullPointerException("Input codec is null.");
+        }
+
+        final int recordSize = checkRecordSize(codec);
+        return allocateDirect(capacity,
+                              codec,
+                              Math.max(1, CHUNK_BYTES / recordSize));
+    }
+
+    /**
+     * Allocates direct buffers for <code>capacity</code> records, at most
+     * <code>recordsPerChunk</code> records per buffer, and returns an empty
+     * slice over them.
+     *
+     * @param  <E>             the record type.
+     * @param  capacity        the maximum number of records.
+     * @param  codec           the record codec.
+     * @param  recordsPerChunk the number of records in each chunk but the
+     *                         last one.
+     * @return an empty slice.
+     */
+    static <E> OffHeapSlice<E> allocateDirect(int capacity,
+                                              RecordCodec<E> codec,
+                                              int recordsPerChunk) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "The capacity is negative: " + capacity);
+        }
+
+        if (codec == null) {
+            throw new NullPointerException("Input codec is null.");
+        }
+
+        final int recordSize = checkRecordSize(codec);
+        final int chunkCount =
+                (int) ((capacity + (long) recordsPerChunk - 1) /
+                       recordsPerChunk);
+        final ByteBuffer[] chunks = new ByteBuffer[Math.max(chunkCount, 1)];
+
+        for (int i = 0; i < chunks.length; ++i) {
+            final int records = (int) Math.min(recordsPerChunk,
+                                               capacity -
+                                               (long) i * recordsPerChunk);
+            chunks[i] = ByteBuffer.allocateDirect(records * recordSize);
+        }
+
+        return new OffHeapSlice<>(chunks, codec, 0, 0);
+    }
+
+    /**
+     * Returns a slice over the records in <code>buffer</code> starting at
+     * record index <code>fromIndex</code> and ending at record index
+     * <code>toIndex - 1</code>. If <code>fromIndex</code> is larger than
+     * <code>toIndex</code>, the slice wraps around the end of the buffer.
+     *
+     * @param  <E>       the record type.
+     * @param  buffer    the buffer holding the records.
+     * @param  codec     the record codec.
+     * @param  fromIndex the starting (inclusive) record index.
+     * @param  toIndex   the ending (exclusive) record index.
+     * @return a slice.
+     */
+    public static <E> OffHeapSlice<E> wrap(ByteBuffer buffer,
+                                           RecordCodec<E> codec,
+                                           int fromIndex,
+                                           int toIndex) {
+        return new OffHeapSlice<>(buffer, codec, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a slice over the records in <code>chunks</code> starting at
+     * record index <code>fromIndex</code> and ending at record index
+     * <code>toIndex - 1</code>. The record indices run through the chunks in
+     * order, and each chunk but the last one must hold the same number of
+     * records. If <code>fromIndex</code> is larger than <code>toIndex</code>,
+     * the slice wraps around the end of the last chunk.
+     *
+     * @param  <E>       the record type.
+     * @param  chunks    the buffers holding the records.
+     * @param  codec     the record codec.
+     * @param  fromIndex the starting (inclusive) record index.
+     * @param  toIndex   the ending (exclusive) record index.
+     * @return a slice.
+     */
+    public static <E> OffHeapSlice<E> wrap(ByteBuffer[] chunks,
+                                           RecordCodec<E> codec,
+                                           int fromIndex,
+                                           int toIndex) {
+        return new OffHeapSlice<>(chunks, codec, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns <code>true</code> if this slice is empty.
+     *
+     * @return a boolean value.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the current number of records in this slice.
+     *
+     * @return the current size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of records the underlying chunks can hold.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Decodes the record at slice index <code>index</code>.
+     *
+     * @param index the target record index.
+     * @return the record.
+     */
+    public E get(final int index) {
+        checkAccessIndex(index);
+        return read(physicalIndex(index));
+    }
+
+    /**
+     * Encodes <code>record</code> at slice index <code>index</code>.
+     *
+     * @param index  the target record index.
+     * @param record the record to store.
+     */
+    public void set(final int index, final E record) {
+        checkAccessIndex(index);
+        final int i = physicalIndex(index);
+        codec.write(chunks[i / recordsPerChunk],
+                    (i % recordsPerChunk) * recordSize,
+                    record);
+    }
+
+    /**
+     * Moves this slice. If <code>delta</code> is negative, moves this slice to
+     * the left <code>-delta</code> steps. Otherwise, moves this slice
+     * <code>delta</code> steps to the right.
+     *
+     * @param delta the movement delta.
+     */
+    public void move(int delta) {
+        if (capacity == 0) {
+            return;
+        }
+
+        fromIndex = Math.floorMod(fromIndex + (long) delta, capacity);
+        ++modCount;
+        pointersMoved(fromIndex, size);
+    }
+
+    /**
+     * Shifts the head of this slice. If <code>delta</code> is negative, expands
+     * the head of this slice <code>-delta</code> records.
+     *
+     * @param delta the shift delta.
+     */
+    public void moveHeadPointer(int delta) {
+        final int actualDelta = delta < 0 ?
+                                -(int) Math.min(-(long) delta, capacity - size) :
+                                Math.min(delta, size);
+
+        if (capacity > 0) {
+            fromIndex = Math.floorMod(fromIndex + actualDelta, capacity);
+        }
+
+        size -= actualDelta;
+        ++modCount;
+        pointersMoved(fromIndex, size);
+    }
+
+    /**
+     * Shifts the tail of this slice. If <code>delta</code> is negative,
+     * contracts the tail of this slice by <code>-delta</code> records.
+     * Otherwise, expands the tail of this slice by <code>delta</code> records.
+     *
+     * @param delta the shift delta.
+     */
+    public void moveTailPointer(int delta) {
+        if (delta < 0) {
+            size -= (int) Math.min(-(long) delta, size);
+        } else {
+            size += Math.min(delta, capacity - size);
+        }
+
+        ++modCount;
+        pointersMoved(fromIndex, size);
+    }
+
+    /**
+     * Reverses the order of the records in this slice.
+     */
+    public void reverse() {
+        reverseRange(0, size);
+    }
+
+    /**
+     * Rotates this slice. If <code>delta</code> is negative, rotates to the
+     * left <code>-delta</code> records. Otherwise, rotates to the right
+     * <code>delta</code> records. The rotation is done in place by triple
+     * reversal.
+     *
+     * @param delta rotation delta.
+     */
+    public void rotate(int delta) {
+        if (size < 2) {
+            // Trivially cycled.
+            return;
+        }
+
+        // The amount of records moved from the head to the tail.
+        final int steps = Math.floorMod(-(long) delta, size);
+
+        if (steps == 0) {
+            return;
+        }
+
+        reverseRange(0, steps);
+        reverseRange(steps, size);
+        reverseRange(0, size);
+    }
+
+    /**
+     * Returns the iterator over the records of this slice.
+     *
+     * @return the iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new OffHeapSliceIterator();
+    }
+
+    /**
+     * Returns the textual representation of this slice.
+     *
+     * @return a string.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        int left = size();
+
+        for (final E record : this) {
+            sb.append(record);
+
+            if (--left > 0) {
+                sb.append(' ');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Called after this slice has been moved or its pointers have been
+     * shifted. The default implementation does nothing.
+     *
+     * @param fromIndex the new starting record index of this slice.
+     * @param size      the new size of this slice.
+     */
+    protected void pointersMoved(int fromIndex, int size) {
+    }
+
+    /**
+     * Checks that the record size of <code>codec</code> is positive.
+     *
+     * @param codec the record codec.
+     * @return the record size.
+     */
+    static int checkRecordSize(final RecordCodec<?> codec) {
+        final int recordSize = codec.recordSize();
+
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException(
+                    "The record size must be positive: " + recordSize);
+        }
+
+        return recordSize;
+    }
+
+    /**
+     * Checks that each chunk but the last one holds
+     * <code>recordsPerChunk</code> records, that the last one holds at most
+     * as many, and that the total number of records fits in an
+     * <code>int</code>.
+     *
+     * @param chunks          the chunks.
+     * @param recordSize      the record size in bytes.
+     * @param recordsPerChunk the number of records in the first chunk.
+     * @return the total number of records.
+     */
+    private static int checkChunks(final ByteBuffer[] chunks,
+                                   final int recordSize,
+                                   final int recordsPerChunk) {
+        long records = 0L;
+
+        for (int i = 0; i < chunks.length; ++i) {
+            final int chunkRecords = chunks[i].capacity() / recordSize;
+
+            if (i < chunks.length - 1 ?
+                    chunkRecords != recordsPerChunk || chunkRecords == 0 :
+                    chunkRecords > recordsPerChunk) {
+                throw new IllegalArgumentException(
+                        "Chunk " + i + " holds " + chunkRecords + " records. " +
+                        "Each chunk but the last one must hold " +
+                        recordsPerChunk + " records, and the last one at " +
+                        "most as many.");
+            }
+
+            records += chunkRecords;
+        }
+
+        if (records > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "The chunks hold " + records + " records. Should be at " +
+                    "most " + Integer.MAX_VALUE + ".");
+        }
+
+        return (int) records;
+    }
+
+    /**
+     * Checks that <code>index</code> is a legal record index for the chunks.
+     *
+     * @param index the index.
+     */
+    private void checkIndexForCapacity(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "The index (" + index + ") may not be negative.");
+        }
+
+        if (index > capacity) {
+            throw new IllegalArgumentException(
+                    "The index (" + index + ") is too large. Should be at " +
+                    "most " + capacity);
+        }
+    }
+
+    /**
+     * Checks the access indices.
+     *
+     * @param index the index to check.
+     */
+    private void checkAccessIndex(int index) {
+        if (size == 0) {
+            throw new NoSuchElementException("Reading from an empty slice.");
+        }
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The input index is invalid: " + index + ". Should be " +
+                    "in range [0, " + (size - 1) + "].");
+        }
+    }
+
+    /**
+     * Maps the slice index <code>index</code> to the record index within the
+     * chunks without checking it.
+     *
+     * @param index the slice index.
+     * @return the corresponding record index of <code>chunks</code>.
+     */
+    private int physicalIndex(final int index) {
+        final int i = index - (capacity - fromIndex);
+        return i + ((i >> 31) & capacity);
+    }
+
+    /**
+     * Reverses the records with slice indices from <code>from</code>
+     * (inclusive) to <code>to</code> (exclusive) by swapping raw bytes.
+     *
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     */
+    private void reverseRange(final int from, final int to) {
+        int swapsLeft = (to - from) / 2;
+
+        if (swapsLeft == 0) {
+            return;
+        }
+
+        int left = physicalIndex(from);
+        int right = physicalIndex(to - 1);
+
+        while (swapsLeft > 0) {
+            // The number of swaps until one of the pointers wraps around.
+            final int run = Math.min(swapsLeft,
+                                     Math.min(capacity - left, right + 1));
+
+            for (int i = 0; i < run; ++i, ++left, --right) {
+                swapRecords(left, right);
+            }
+
+            swapsLeft -= run;
+
+            if (left == capacity) {
+                left = 0;
+            }
+
+            if (right < 0) {
+                right = capacity - 1;
+            }
+        }
+    }
+
+    /**
+     * Swaps the raw bytes of the two records with the given record indices
+     * within <code>chunks</code>.
+     *
+     * @param left  the index of the first record.
+     * @param right the index of the second record.
+     */
+    private void swapRecords(final int left, final int right) {
+        final ByteBuffer leftChunk = chunks[left / recordsPerChunk];
+        final ByteBuffer rightChunk = chunks[right / recordsPerChunk];
+        final int leftOffset = (left % recordsPerChunk) * recordSize;
+        final int rightOffset = (right % recordsPerChunk) * recordSize;
+        leftChunk.get(leftOffset, leftRecord);
+        rightChunk.get(rightOffset, rightRecord);
+        leftChunk.put(leftOffset, rightRecord);
+        rightChunk.put(rightOffset, leftRecord);
+    }
+
+    /**
+     * Decodes the record with the record index <code>i</code> within
+     * <code>chunks</code>.
+     *
+     * @param i the record index.
+     * @return the record.
+     */
+    private E read(final int i) {
+        return codec.read(chunks[i / recordsPerChunk],
+                          (i % recordsPerChunk) * recordSize);
+    }
+
+    /**
+     * This class implements a fail-fast iterator over the records of this
+     * slice.
+     */
+    private class OffHeapSliceIterator implements Iterator<E> {
+
+        /**
+         * The index of the next record to return.
+         */
+        private int index;
+
+        /**
+         * The modification count of the slice this iterator expects.
+         */
+        private final int expectedModCount = modCount;
+
+        /**
+         * Returns <code>true</code> if there is records yet to iterate.
+         *
+         * @return a boolean value.
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Returns the next record.
+         *
+         * @return a record.
+         */
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (index >= size) {
+                throw new NoSuchElementException("Iterator exceeded.");
+            }
+
+            return read(physicalIndex(index++));
+        }
+    }
+}
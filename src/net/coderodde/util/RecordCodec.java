@@ -0,0 +1,43 @@
+package net.coderodde.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This interface defines the API for encoding and decoding fixed-width
+ * records stored in a {@link ByteBuffer}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the record type.
+ * @version 1.61
+ */
+public interface RecordCodec<E> {
+
+    /**
+     * Returns the number of bytes each record occupies.
+     *
+     * @return the record size in bytes.
+     */
+    int recordSize();
+
+    /**
+     * Reads the record starting at byte offset <code>offset</code>. The
+     * implementation must use absolute access only and may not change the
+     * position or the limit of <code>buffer</code>.
+     *
+     * @param buffer the buffer to read from.
+     * @param offset the offset of the first byte of the record.
+     * @return the decoded record.
+     */
+    E read(ByteBuffer buffer, int offset);
+
+    /**
+     * Writes <code>record</code> starting at byte offset <code>offset</code>.
+     * The implementation must use absolute access only and may not write more
+     * than {@link #recordSize()} bytes.
+     *
+     * @param buffer the buffer to write to.
+     * @param offset the offset of the first byte of the record.
+     * @param record the record to encode.
+     */
+    void write(ByteBuffer buffer, int offset, E record);
+}
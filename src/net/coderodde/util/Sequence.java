@@ -0,0 +1,118 @@
+package net.coderodde.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * This class implements a sequence counter padded to a cache line of its own
+ * on both sides, so that two threads updating two different sequences never
+ * contend for the same cache line. The padding is laid out through the class
+ * hierarchy, since the JVM places the fields of a superclass before the fields
+ * of its subclasses.
+ *
+ * <p>Besides the counter itself, each sequence carries a plain
+ * <code>cache</code> field that the thread owning the sequence may use for
+ * caching the value of a sequence owned by another thread.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+final class Sequence extends SequenceValue {
+
+    long p9, p10, p11, p12, p13, p14, p15;
+
+    /**
+     * The handle for accessing <code>value</code>.
+     */
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup()
+                                 .findVarHandle(SequenceValue.class,
+                                                "value",
+                                                long.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /**
+     * Constructs a new sequence with the given initial value.
+     *
+     * @param initialValue the initial value.
+     */
+    Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    /**
+     * Returns the value without any ordering guarantees. Only the thread
+     * writing this sequence may rely on it.
+     *
+     * @return the value.
+     */
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    /**
+     * Returns the value with acquire semantics.
+     *
+     * @return the value.
+     */
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Sets the value with release semantics.
+     *
+     * @param value the new value.
+     */
+    void setRelease(long value) {
+        VALUE.setRelease(this, value);
+    }
+
+    /**
+     * Atomically sets the value to <code>newValue</code> if it equals
+     * <code>expectedValue</code>.
+     *
+     * @param expectedValue the expected value.
+     * @param newValue      the new value.
+     * @return <code>true</code> if the value was updated.
+     */
+    boolean compareAndSet(long expectedValue, long newValue) {
+        return VALUE.compareAndSet(this, expectedValue, newValue);
+    }
+}
+
+/**
+ * Holds the padding preceding the value of a {@link Sequence}.
+ */
+abstract class SequenceLeftPadding {
+
+    long p1, p2, p3, p4, p5, p6, p7;
+}
+
+/**
+ * Holds the value of a {@link Sequence} and the cache field of its owner.
+ */
+abstract class SequenceValue extends SequenceLeftPadding {
+
+    /**
+     * The counter value. Accessed through a {@link VarHandle}.
+     */
+    long value;
+
+    /**
+     * A plain field for the exclusive use of the thread owning the sequence.
+     */
+    long cache;
+
+    /**
+     * A plain field for the exclusive use of the thread owning the sequence,
+     * typically the array index the value maps to.
+     */
+    int index;
+}
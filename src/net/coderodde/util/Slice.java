@@ -1,7 +1,25 @@
 package net.coderodde.util;
 
+import java.lang.reflect.Array;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This utility class implements <b>cyclic</b> array slices. If you move the 
@@ -9,16 +27,38 @@ import java.util.NoSuchElementException;
  * emerge at the beginning of the array being sliced. Same applies to movement
  * to the left.
  * 
+ * <p>A slice is a random access {@link java.util.List} of its components.
+ * The structural operations of the list insert and remove components by 
+ * shifting the shorter side of the slice and moving the head or the tail 
+ * pointer; unless the slice is growable, an insertion throws 
+ * {@link IllegalStateException} once the slice covers the whole array. 
+ * Removed components are cleared in the underlying array. The bulk methods 
+ * work on the at most two contiguous segments of the array directly.
+ * 
  * @author Rodion "rodde" Efremov
  * @param <E> the actual array component type.
  * @version 1.61
  */
-public class Slice<E> implements Iterable<E> {
+public class Slice<E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * The largest capacity a growable slice may reach. Some virtual machines
+     * reserve a few header words in an array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
 
     /**
-     * The actual array being sliced.
+     * The minimum number of swaps a reversal must take to be split across
+     * the fork/join pool, which is also the maximum number of swaps done by
+     * a single task.
      */
-    private final E[] array;
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    /**
+     * The actual array being sliced. Replaced by a larger array when a
+     * growable slice runs out of room.
+     */
+    private E[] array;
 
     /**
      * The starting index of this slice within <code>array</code>.
@@ -36,6 +76,18 @@ public class Slice<E> implements Iterable<E> {
      */
     private int size;
 
+    /**
+     * Whether this slice reallocates its array instead of clamping expansions
+     * to the array length.
+     */
+    private boolean growable;
+
+    /**
+     * Whether the operations changing the size or the position of this slice
+     * are disabled. Set for the windows handed out by {@link SliceManager}.
+     */
+    private boolean fixedSize;
+
     /**
      * Constructs a new slice for <code>array</code> starting at 
      * <code>fromIndex</code> and ending at <code>toIndex - 1</code>.
@@ -47,15 +99,46 @@ public class Slice<E> implements Iterable<E> {
     private Slice(E[] array, 
                   int fromIndex, 
                   int toIndex) {
-        checkArray(array);
-        checkIndexForArray(array, fromIndex);
-        checkIndexForArray(array, toIndex);
-        this.array = array;
-        this.fromIndex = fromIndex;
-        // 100 10 9
-        this.size = fromIndex <= toIndex ? 
-                    toIndex - fromIndex :
-                    array.length - fromIndex + toIndex;
+        assign(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Creates a new slice for <code>array</code> starting at 
+     * <code>fromIndex</code> and ending at <code>toIndex - 1</code>, wrapping
+     * around the end of the array if <code>toIndex &lt; fromIndex</code>. 
+     * Same as <code>create().withArray(array).startingFrom(fromIndex)
+     * .until(toIndex)</code>, but does not create the intermediate selector 
+     * objects.
+     * 
+     * @param <E>       the array component type.
+     * @param array     the array being sliced.
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     * @return a slice.
+     */
+    public static <E> Slice<E> of(final E[] array, 
+                                  final int fromIndex, 
+                                  final int toIndex) {
+        return new Slice<>(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Points this slice at <code>array</code>, starting at 
+     * <code>fromIndex</code> and ending at <code>toIndex - 1</code>, as if it
+     * were created by {@link #of(Object[], int, int)}. Allows reusing a single
+     * slice object for many arrays or ranges. Views and iterators over the 
+     * previous range become invalid; the growable mode is kept.
+     * 
+     * @param array     the array being sliced.
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     */
+    public void reset(final E[] array, 
+                      final int fromIndex, 
+                      final int toIndex) {
+        checkNotFixedSize();
+        assign(array, fromIndex, toIndex);
+        ++modCount;
     }
 
     /**
@@ -185,6 +268,7 @@ public class Slice<E> implements Iterable<E> {
      * 
      * @return a boolean value.
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
@@ -194,6 +278,7 @@ public class Slice<E> implements Iterable<E> {
      * 
      * @return the current size.
      */
+    @Override
     public int size() {
         return size;
     }
@@ -205,9 +290,10 @@ public class Slice<E> implements Iterable<E> {
      * @param index the target index element.
      * @return the element at the specified index.
      */
+    @Override
     public E get(final int index) {
         checkAccessIndex(index);
-        return array[(fromIndex + index) % array.length];
+        return array[physicalIndex(index)];
     }
 
     /**
@@ -215,10 +301,15 @@ public class Slice<E> implements Iterable<E> {
      * 
      * @param index the target component index.
      * @param value the new value to set.
+     * @return the previous value.
      */
-    public void set(final int index, final E value) {
+    @Override
+    public E set(final int index, final E value) {
         checkAccessIndex(index);
-        array[(fromIndex + index) % array.length] = value;
+        final int i = physicalIndex(index);
+        final E old = array[i];
+        array[i] = value;
+        return old;
     }
 
     /**
@@ -230,11 +321,26 @@ public class Slice<E> implements Iterable<E> {
      * @param delta the movement delta.
      */
     public void move(int delta) {
+        checkNotFixedSize();
+        moveImpl(delta);
+    }
+
+    /**
+     * Moves this slice as {@link #move(int)} does, even if this slice has a
+     * fixed size.
+     * 
+     * @param delta the movement delta.
+     */
+    void moveImpl(final int delta) {
+        SliceMetrics.pointerMoved();
+
         if (delta < 0) {
             moveLeft(-delta);
         } else {
             moveRight(delta);
         }
+
+        ++modCount;
     }
     
     /**
@@ -244,11 +350,16 @@ public class Slice<E> implements Iterable<E> {
      * @param delta the shift delta.
      */
     public void moveHeadPointer(int delta) {
+        checkNotFixedSize();
+        SliceMetrics.pointerMoved();
+
         if (delta < 0) {
             expandHead(-delta);
         } else {
             contractHead(delta);
         }
+
+        ++modCount;
     }
 
     /**
@@ -260,22 +371,160 @@ public class Slice<E> implements Iterable<E> {
      * @param delta the shift delta.
      */
     public void moveTailPointer(int delta) {
+        checkNotFixedSize();
+        moveTailPointerImpl(delta);
+    }
+
+    /**
+     * Shifts the tail of this slice as {@link #moveTailPointer(int)} does, 
+     * even if this slice has a fixed size.
+     * 
+     * @param delta the shift delta.
+     */
+    void moveTailPointerImpl(final int delta) {
+        SliceMetrics.pointerMoved();
+
         if (delta < 0) {
             contractTail(-delta);
         } else {
             expandTail(delta);
         }
+
+        ++modCount;
     }
     
+    /**
+     * Returns <code>true</code> if this slice is growable.
+     * 
+     * @return a boolean value.
+     */
+    public boolean isGrowable() {
+        return growable;
+    }
+
+    /**
+     * Sets the growable mode of this slice. By default, expanding the head or
+     * the tail of a slice is clamped to the length of the underlying array.
+     * A growable slice instead reallocates its components into a new array
+     * at least 1.5 times as long, so that a sequence of expansions by one
+     * component runs in amortized constant time at both ends. After the
+     * first reallocation, this slice no longer writes through to the array it
+     * was created with.
+     * 
+     * @param growable whether this slice should be growable.
+     */
+    public void setGrowable(final boolean growable) {
+        checkNotFixedSize();
+        this.growable = growable;
+    }
+
+    /**
+     * Returns the length of the underlying array, which is the maximum size
+     * of this slice before it must reallocate.
+     * 
+     * @return the capacity.
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Makes sure the underlying array has room for at least 
+     * <code>minCapacity</code> components, reallocating it if needed.
+     * 
+     * @param minCapacity the desired minimum capacity.
+     */
+    public void ensureCapacity(final int minCapacity) {
+        checkNotFixedSize();
+
+        if (minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError(
+                    "Requested slice capacity " + minCapacity + " is too " +
+                    "large.");
+        }
+
+        if (minCapacity > array.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Reallocates the components of this slice into an array of length 
+     * <code>size()</code>, unless the underlying array has exactly that 
+     * length already. The slice starts at the beginning of the new array.
+     */
+    public void trimToSize() {
+        checkNotFixedSize();
+
+        if (size < array.length) {
+            reallocate(size);
+        }
+    }
+
     /**
      * Reverses the array range covered by this slice.
      */
     public void reverse() {
-        for (int l = 0, r = size() - 1; l < r; ++l, --r) {
-            final E tmp = get(l);
-            set(l, get(r));
-            set(r, tmp);
+        reverseRange(0, size);
+    }
+
+    /**
+     * Reverses the slice components with indices from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive). The rest of this slice
+     * remains intact.
+     * 
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     */
+    public void reverse(final int fromIndex, final int toIndex) {
+        checkSliceRange(fromIndex, toIndex);
+        reverseRange(fromIndex, toIndex);
+    }
+
+    /**
+     * Reverses this slice as {@link #reverse()} does, splitting the swaps
+     * across the common {@link ForkJoinPool} if there are at least
+     * <code>PARALLEL_THRESHOLD</code> of them.
+     */
+    public void parallelReverse() {
+        parallelReverseRange(0, size);
+    }
+
+    /**
+     * Reverses the slice components with indices from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive) as
+     * {@link #reverse(int, int)} does, in parallel if the range is large.
+     * 
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     */
+    public void parallelReverse(final int fromIndex, final int toIndex) {
+        checkSliceRange(fromIndex, toIndex);
+        parallelReverseRange(fromIndex, toIndex);
+    }
+
+    /**
+     * Rotates this slice as {@link #rotate(int)} does. The rotation consists
+     * of three reversals, each of which runs in parallel if it is large.
+     * 
+     * @param delta rotation delta.
+     */
+    public void parallelRotate(final int delta) {
+        if (size < 2) {
+            return;
         }
+
+        final int steps = Math.floorMod(delta, size);
+
+        if (steps == 0) {
+            return;
+        }
+
+        // Rotating to the right by 'steps' is the same as reversing the 
+        // entire slice and then the two blocks on both sides of 'steps'.
+        parallelReverseRange(0, size);
+        parallelReverseRange(0, steps);
+        parallelReverseRange(steps, size);
     }
 
     /**
@@ -294,159 +543,1174 @@ public class Slice<E> implements Iterable<E> {
     }
     
     /**
-     * Returns the iterator over this slice.
+     * Returns a new <code>Object</code> array holding the components of this 
+     * slice in order, as required by {@link java.util.Collection#toArray()}.
      * 
-     * @return the iterator.
+     * @return an array of length <code>size()</code>.
      */
     @Override
-    public Iterator<E> iterator() {
-        return new SliceIterator();
+    public Object[] toArray() {
+        final Object[] result = new Object[size];
+        copyRangeTo(0, size, result, 0);
+        return result;
     }
 
     /**
-     * Returns the textual representation of this slice.
+     * Returns a new array holding the components of this slice in order.
+     * The runtime component type of the returned array is the component type
+     * of the sliced array.
      * 
-     * @return a string.
+     * @return an array of length <code>size()</code>.
      */
-    @Override
-    public String toString() {
-        final StringBuilder sb = new StringBuilder();
-        int left = size();
+    public E[] toTypedArray() {
+        final E[] result = newArray(size);
+        copyRangeTo(0, size, result, 0);
+        return result;
+    }
 
-        for (final E element : this) {
-            sb.append(element);
+    /**
+     * Copies the components of this slice to <code>dest</code> starting at
+     * <code>destPos</code>. The range covered by this slice consists of at most
+     * two contiguous segments of the underlying array, each of which is copied
+     * with a single call to {@link System#arraycopy}.
+     * 
+     * @param dest    the destination array.
+     * @param destPos the starting index in <code>dest</code>.
+     */
+    public void copyTo(final E[] dest, final int destPos) {
+        checkArray(dest);
+        checkBulkRange(dest.length, destPos, size);
+        copyRangeTo(0, size, dest, destPos);
+    }
 
-            if (--left > 0) {
-                sb.append(' ');
-            }
+    /**
+     * Copies <code>len</code> components from <code>src</code>, starting at
+     * <code>srcPos</code>, to the beginning of this slice. Just like 
+     * {@link #copyTo(Object[], int)}, this takes at most two calls to
+     * {@link System#arraycopy}.
+     * 
+     * @param src    the source array.
+     * @param srcPos the starting index in <code>src</code>.
+     * @param len    the number of components to copy.
+     */
+    public void copyFrom(final E[] src, final int srcPos, final int len) {
+        checkArray(src);
+        checkBulkRange(src.length, srcPos, len);
+
+        if (len > size) {
+            throw new IndexOutOfBoundsException(
+                    "Cannot copy " + len + " components to a slice of " +
+                    "size " + size + ".");
         }
 
-        return sb.toString();
+        final int headLength = headSegmentLength(len);
+        System.arraycopy(src, srcPos, array, fromIndex, headLength);
+        System.arraycopy(src, srcPos + headLength, array, 0, len - headLength);
     }
 
     /**
-     * Checks that the input array is not <code>null</code>.
+     * Returns the iterator over this slice.
      * 
-     * @param <E>   the array component type.
-     * @param array the array.
+     * @return the iterator.
      */
-    private static <E> void checkArray(final E[] array) {
-        if (array == null) {
-            throw new NullPointerException("Input array is null.");
-        }
+    @Override
+    public Iterator<E> iterator() {
+        SliceMetrics.iteratorCreated();
+        return new SliceIterator();
     }
 
     /**
-     * Checks that <code>index</code> is legal for an <code>array</code>.
+     * Applies <code>action</code> to each component of this slice in order.
+     * Instead of going through an iterator, loops over the at most two 
+     * segments of the underlying array directly.
      * 
-     * @param <E>   the actual array component type.
-     * @param array the array.
-     * @param index the index.
+     * @param action the action to apply.
      */
-    private static <E> void checkIndexForArray(E[] array, int index) {
-        if (index < 0) {
-            throw new IllegalArgumentException(
-                    "The index (" + index + ") may not be negative.");
-        }
-
-        if (index > array.length) {
-            throw new IllegalArgumentException(
-                    "The index (" + index + ") is too large. Should be at " +
-                    "most " + array.length);
-        }
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        forEachImpl(0, size, action);
     }
 
     /**
-     * Checks the access indices.
+     * Returns the spliterator over this slice. The returned spliterator knows
+     * its exact size and splits its range in halves regardless of where the 
+     * slice wraps around the end of the underlying array.
      * 
-     * @param index the index to check.
+     * @return the spliterator.
      */
-    private void checkAccessIndex(int index) {
-        final int size = size();
-
-        if (size == 0) {
-            throw new NoSuchElementException("Reading from an empty slice.");
-        }
+    @Override
+    public Spliterator<E> spliterator() {
+        return new SliceSpliterator(0, size);
+    }
 
-        if (index < 0 || index >= size) {
-            throw new IndexOutOfBoundsException(
-                    "The input index is invalid: " + index + ". Should be " +
-                    "in range [0, " + (size - 1) + "].");
-        }
+    /**
+     * Returns a sequential stream over this slice.
+     * 
+     * @return a stream.
+     */
+    @Override
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
     }
 
     /**
-     * Expands the front of this slice by <code>amount</code> array components.
-     * This slice may "cycle" the same way as at motion to the left or right.
+     * Returns a parallel stream over this slice.
      * 
-     * @param amount the expansion length.
+     * @return a stream.
      */
-    private void expandHead(int amount) {
-        checkNotNegative(amount);
-        final int actualAmount = Math.min(amount, array.length - size());
-        fromIndex -= actualAmount;
-        size += actualAmount;
+    @Override
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 
-        if (fromIndex < 0) {
-            fromIndex += array.length;
-        }
+    /**
+     * Returns a logical view of this slice. Reversing and rotating the view
+     * take constant time, since they only update the index mapping of the 
+     * view. The changes reach this slice once 
+     * {@link LogicalSlice#materialize()} is called.
+     * 
+     * @return a logical view.
+     */
+    public LogicalSlice<E> logicalView() {
+        return new LogicalSlice<>(this);
     }
 
     /**
-     * Contracts the front of this slice by <code>amount</code> array
-     * components.
+     * Returns a view of the components of this slice with indices from 
+     * <code>fromIndex</code> (inclusive) to <code>toIndex</code> (exclusive).
+     * The view shares the underlying array with this slice and maps its 
+     * indices through the current starting index of this slice, so that it
+     * follows this slice when moved.
      * 
-     * @param amount the contraction length.
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     * @return a view.
      */
-    private void contractHead(int amount) {
-        checkNotNegative(amount);
-        final int actualAmount = Math.min(amount, size());
-        fromIndex += actualAmount;
-        size -= actualAmount;
+    public SubSlice<E> subSlice(final int fromIndex, final int toIndex) {
+        checkSliceRange(fromIndex, toIndex);
+        return new SubSlice<>(this, fromIndex, toIndex - fromIndex);
+    }
 
-        if (fromIndex >= array.length) {
-            fromIndex -= array.length;
-        }
+    /**
+     * Returns a view of the components of this slice with indices from 
+     * <code>fromIndex</code> (inclusive) to <code>toIndex</code> (exclusive),
+     * as {@link #subSlice(int, int)} does.
+     * 
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     * @return a view.
+     */
+    @Override
+    public SubSlice<E> subList(final int fromIndex, final int toIndex) {
+        return subSlice(fromIndex, toIndex);
     }
-    
+
     /**
-     * Expands the back of this slice by <code>amount</code> array components.
+     * Appends <code>element</code> to the tail of this slice.
      * 
-     * @param amount the expansion length.
+     * @param element the element to append.
+     * @return <code>true</code>.
+     * @throws IllegalStateException if this slice is full and not growable.
      */
-    private void expandTail(int amount) {
-        checkNotNegative(amount);
-        size += Math.min(amount, array.length - size());
+    @Override
+    public boolean add(final E element) {
+        ensureRoom(1);
+        expandTail(1);
+        array[physicalIndex(size - 1)] = element;
+        ++modCount;
+        return true;
     }
 
     /**
-     * Contracts the back of this slice by <code>amount</code> array components.
+     * Inserts <code>element</code> at slice index <code>index</code>, 
+     * shifting the shorter side of this slice by one component.
      * 
-     * @param amount the contraction length.
+     * @param index   the insertion index.
+     * @param element the element to insert.
+     * @throws IllegalStateException if this slice is full and not growable.
      */
-    private void contractTail(int amount) {
-        checkNotNegative(amount);
-        size -= Math.min(amount, size());
+    @Override
+    public void add(final int index, final E element) {
+        checkInsertionIndex(index);
+        ensureRoom(1);
+        openGap(index, 1);
+        array[physicalIndex(index)] = element;
     }
-    
+
     /**
-     * Moves this slice <code>steps</code> to the left. If the head of this
-     * slice, while moving to the left, leaves the beginning of the underlying
-     * array, it reappears at the right end of the array.
+     * Appends the elements of <code>collection</code> to the tail of this 
+     * slice with at most two calls to {@link System#arraycopy}.
      * 
-     * @param steps the amount of steps to move.
+     * @param collection the elements to append.
+     * @return <code>true</code> if this slice changed.
+     * @throws IllegalStateException if this slice has no room for the 
+     *                               elements and is not growable.
      */
-    private void moveLeft(int steps) {
-        checkNotNegative(steps);
-        
-        if (array.length == 0) {
-            return;
-        }
+    @Override
+    public boolean addAll(final Collection<? extends E> collection) {
+        return addAll(size, collection);
+    }
 
-        fromIndex -= steps % array.length;
+    /**
+     * Inserts the elements of <code>collection</code> at slice index 
+     * <code>index</code>, shifting the shorter side of this slice. The 
+     * elements are copied in with at most two calls to 
+     * {@link System#arraycopy}.
+     * 
+     * @param index      the insertion index.
+     * @param collection the elements to insert.
+     * @return <code>true</code> if this slice changed.
+     * @throws IllegalStateException if this slice has no room for the 
+     *                               elements and is not growable.
+     */
+    @Override
+    public boolean addAll(final int index, 
+                          final Collection<? extends E> collection) {
+        checkInsertionIndex(index);
+        final Object[] elements = collection.toArray();
 
-        if (fromIndex < 0) {
-            fromIndex += array.length;
+        if (elements.length == 0) {
+            return false;
+        }
+
+        ensureRoom(elements.length);
+        openGap(index, elements.length);
+        copyRangeFrom(elements, 0, index, elements.length);
+        return true;
+    }
+
+    /**
+     * Removes the component at slice index <code>index</code>, shifting the 
+     * shorter side of this slice by one component.
+     * 
+     * @param index the index of the component to remove.
+     * @return the removed component.
+     */
+    @Override
+    public E remove(final int index) {
+        checkAccessIndex(index);
+        final E element = array[physicalIndex(index)];
+        closeGap(index, 1);
+        return element;
+    }
+
+    /**
+     * Removes the first occurrence of <code>o</code> from this slice.
+     * 
+     * @param o the object to remove.
+     * @return <code>true</code> if this slice contained <code>o</code>.
+     */
+    @Override
+    public boolean remove(final Object o) {
+        final int index = indexOf(o);
+
+        if (index < 0) {
+            return false;
+        }
+
+        closeGap(index, 1);
+        return true;
+    }
+
+    /**
+     * Removes the components with indices from <code>fromIndex</code> 
+     * (inclusive) to <code>toIndex</code> (exclusive), shifting the shorter 
+     * side of this slice over them. 
+     * 
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        checkSliceRange(fromIndex, toIndex);
+
+        if (fromIndex < toIndex) {
+            closeGap(fromIndex, toIndex - fromIndex);
+        }
+    }
+
+    /**
+     * Removes all the components satisfying <code>filter</code> by 
+     * compacting the remaining components towards the head of this slice.
+     * All the components are tested before any of them is moved, so that 
+     * this slice stays intact if <code>filter</code> throws. A fixed-size 
+     * slice rejects the call only if some component satisfies 
+     * <code>filter</code>.
+     * 
+     * @param filter the predicate selecting the components to remove.
+     * @return <code>true</code> if any component was removed.
+     */
+    @Override
+    public boolean removeIf(final Predicate<? super E> filter) {
+        if (filter == null) {
+            throw new NullPointerException("Filter is null.");
+        }
+
+        final int expectedModCount = modCount;
+        final BitSet removed = new BitSet(size);
+
+        for (int i = 0; i < size; ++i) {
+            if (filter.test(getImpl(i))) {
+                removed.set(i);
+            }
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (removed.isEmpty()) {
+            return false;
+        }
+
+        checkNotFixedSize();
+        int kept = removed.nextSetBit(0);
+
+        for (int i = removed.nextClearBit(kept); 
+                 i < size; 
+                 i = removed.nextClearBit(i + 1)) {
+            setImpl(kept++, getImpl(i));
+        }
+
+        clearRange(kept, size);
+        size = kept;
+        ++modCount;
+        return true;
+    }
+
+    /**
+     * Removes the components contained in <code>collection</code>.
+     * 
+     * @param collection the components to remove.
+     * @return <code>true</code> if any component was removed.
+     */
+    @Override
+    public boolean removeAll(final Collection<?> collection) {
+        return removeIf(collection::contains);
+    }
+
+    /**
+     * Removes the components not contained in <code>collection</code>.
+     * 
+     * @param collection the components to keep.
+     * @return <code>true</code> if any component was removed.
+     */
+    @Override
+    public boolean retainAll(final Collection<?> collection) {
+        return removeIf(element -> !collection.contains(element));
+    }
+
+    /**
+     * Removes all the components of this slice.
+     */
+    @Override
+    public void clear() {
+        checkNotFixedSize();
+        clearRange(0, size);
+        size = 0;
+        ++modCount;
+    }
+
+    /**
+     * Returns <code>true</code> if this slice contains <code>o</code>.
+     * 
+     * @param o the object to search for.
+     * @return a boolean value.
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of <code>o</code> in this
+     * slice, or <code>-1</code> if there is no such component.
+     * 
+     * @param o the object to search for.
+     * @return the index of <code>o</code> or <code>-1</code>.
+     */
+    @Override
+    public int indexOf(final Object o) {
+        final int headLength = headSegmentLength(size);
+        final int headIndex = 
+                indexOf(array, fromIndex, fromIndex + headLength, o);
+
+        if (headIndex >= 0) {
+            return headIndex - fromIndex;
+        }
+
+        final int tailIndex = indexOf(array, 0, size - headLength, o);
+        return tailIndex >= 0 ? tailIndex + headLength : -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of <code>o</code> in this
+     * slice, or <code>-1</code> if there is no such component.
+     * 
+     * @param o the object to search for.
+     * @return the index of <code>o</code> or <code>-1</code>.
+     */
+    @Override
+    public int lastIndexOf(final Object o) {
+        final int headLength = headSegmentLength(size);
+        final int tailIndex = lastIndexOf(array, 0, size - headLength, o);
+
+        if (tailIndex >= 0) {
+            return tailIndex + headLength;
+        }
+
+        final int headIndex = 
+                lastIndexOf(array, fromIndex, fromIndex + headLength, o);
+        return headIndex >= 0 ? headIndex - fromIndex : -1;
+    }
+
+    /**
+     * Copies the components of this slice to <code>a</code> if it is long 
+     * enough, or to a new array of the same runtime type otherwise.
+     * 
+     * @param <T> the component type of the array.
+     * @param a   the destination array.
+     * @return the array holding the components of this slice.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            a = (T[]) Array.newInstance(a.getClass().getComponentType(), 
+                                        size);
+        }
+
+        copyRangeTo(0, size, a, 0);
+
+        if (a.length > size) {
+            a[size] = null;
+        }
+
+        return a;
+    }
+
+    /**
+     * Replaces each component of this slice with the result of applying
+     * <code>operator</code> to it, looping over the segments of the 
+     * underlying array directly.
+     * 
+     * @param operator the operator to apply.
+     */
+    @Override
+    public void replaceAll(final UnaryOperator<E> operator) {
+        if (operator == null) {
+            throw new NullPointerException("Operator is null.");
+        }
+
+        final int expectedModCount = modCount;
+        final int headLength = headSegmentLength(size);
+        final int headEnd = fromIndex + headLength;
+        final E[] a = array;
+
+        for (int i = fromIndex; i < headEnd; ++i) {
+            a[i] = operator.apply(a[i]);
+        }
+
+        for (int i = 0; i < size - headLength; ++i) {
+            a[i] = operator.apply(a[i]);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Sorts this slice stably. A slice that does not wrap around the end of
+     * the underlying array is sorted in place by {@link Arrays#sort}. The two
+     * segments of a wrapped slice are sorted separately and then merged in 
+     * place through the cyclic index mapping, so that no array component 
+     * outside of this slice is ever touched, not even if 
+     * <code>comparator</code> throws. Like a structural modification, sorting
+     * makes the open iterators of this slice fail.
+     * 
+     * @param comparator the comparator, or <code>null</code> for the natural
+     *                   ordering.
+     */
+    @Override
+    public void sort(final Comparator<? super E> comparator) {
+        final int expectedModCount = modCount;
+        final int headLength = headSegmentLength(size);
+        Arrays.sort(array, fromIndex, fromIndex + headLength, comparator);
+
+        if (headLength < size) {
+            Arrays.sort(array, 0, size - headLength, comparator);
+            mergeRange(0, headLength, size, comparatorOrNatural(comparator));
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        // Permuting the components invalidates the open iterators.
+        ++modCount;
+    }
+
+    /**
+     * Returns a double-ended queue view of this slice. Inserting and removing
+     * at either end moves the head or the tail pointer of this slice, so that
+     * all the deque operations run in constant time, or in amortized constant 
+     * time if this slice is growable. The view may be used side by side with
+     * the indexed access of this slice.
+     * 
+     * @return a deque view.
+     */
+    public Deque<E> asDeque() {
+        return new DequeView();
+    }
+
+    /**
+     * Returns the number of times this slice has been moved, its pointers
+     * have been shifted, it has been structurally modified as a list or it
+     * has been sorted.
+     * 
+     * @return the modification count.
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    /**
+     * Returns the index of the underlying array at which this slice starts.
+     * 
+     * @return the starting array index.
+     */
+    int startIndex() {
+        return fromIndex;
+    }
+
+    /**
+     * Accesses an element without checking the index.
+     * 
+     * @param index the slice index.
+     * @return the element at the specified index.
+     */
+    E getImpl(final int index) {
+        return array[physicalIndex(index)];
+    }
+
+    /**
+     * Sets a new value without checking the index.
+     * 
+     * @param index the slice index.
+     * @param value the new value to set.
+     */
+    void setImpl(final int index, final E value) {
+        array[physicalIndex(index)] = value;
+    }
+
+    /**
+     * Creates a new array of the same component type as the sliced array.
+     * 
+     * @param length the length of the new array.
+     * @return a new array.
+     */
+    @SuppressWarnings("unchecked")
+    E[] newArray(final int length) {
+        return (E[]) Array.newInstance(array.getClass().getComponentType(), 
+                                       length);
+    }
+
+    /**
+     * Copies <code>length</code> components starting at slice index 
+     * <code>from</code> to <code>dest</code> starting at 
+     * <code>destPos</code>, with at most two calls to 
+     * {@link System#arraycopy}. Does not check the arguments.
+     * 
+     * @param from    the starting slice index.
+     * @param length  the number of components to copy.
+     * @param dest    the destination array.
+     * @param destPos the starting index in <code>dest</code>.
+     */
+    void copyRangeTo(final int from,
+                     final int length,
+                     final Object[] dest,
+                     final int destPos) {
+        final int i = physicalIndex(from);
+        final int headLength = Math.min(length, array.length - i);
+        System.arraycopy(array, i, dest, destPos, headLength);
+        System.arraycopy(array, 0, dest, destPos + headLength, 
+                         length - headLength);
+    }
+
+    /**
+     * Copies <code>length</code> components of <code>src</code> starting at
+     * <code>srcPos</code> to this slice starting at slice index 
+     * <code>index</code> with at most two calls to {@link System#arraycopy}.
+     * Does not check the arguments.
+     * 
+     * @param src    the source array.
+     * @param srcPos the starting index in <code>src</code>.
+     * @param index  the starting slice index.
+     * @param length the number of components to copy.
+     */
+    void copyRangeFrom(final Object[] src, 
+                       final int srcPos, 
+                       final int index, 
+                       final int length) {
+        final int i = physicalIndex(index);
+        final int headLength = Math.min(length, array.length - i);
+        System.arraycopy(src, srcPos, array, i, headLength);
+        System.arraycopy(src, srcPos + headLength, array, 0, 
+                         length - headLength);
+    }
+
+    /**
+     * Returns the textual representation of this slice.
+     * 
+     * @return a string.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        int left = size();
+
+        for (final E element : this) {
+            sb.append(element);
+
+            if (--left > 0) {
+                sb.append(' ');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Applies <code>action</code> to the slice components with indices from
+     * <code>from</code> (inclusive) to <code>to</code> (exclusive). 
+     * 
+     * @param from   the starting (inclusive) slice index.
+     * @param to     the ending (exclusive) slice index.
+     * @param action the action to apply.
+     * @throws ConcurrentModificationException if this slice was moved by 
+     *                                         <code>action</code>.
+     */
+    void forEachImpl(final int from,
+                     final int to, 
+                     final Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("Action is null.");
+        }
+
+        final int expectedModCount = modCount;
+        final E[] a = array;
+        int i = physicalIndex(from);
+        int left = to - from;
+        final int headEnd = Math.min(a.length, i + left);
+        left -= headEnd - i;
+
+        for (; i < headEnd; ++i) {
+            action.accept(a[i]);
+        }
+
+        for (i = 0; i < left; ++i) {
+            action.accept(a[i]);
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Checks the arguments and assigns the array and the range of this slice.
+     * 
+     * @param array     the array being sliced.
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     */
+    private void assign(final E[] array, 
+                        final int fromIndex, 
+                        final int toIndex) {
+        checkArray(array);
+        checkIndexForArray(array, fromIndex);
+        checkIndexForArray(array, toIndex);
+        this.array = array;
+        this.fromIndex = fromIndex;
+        // 100 10 9
+        this.size = fromIndex <= toIndex ? 
+                    toIndex - fromIndex :
+                    array.length - fromIndex + toIndex;
+    }
+
+    /**
+     * Checks that the input array is not <code>null</code>.
+     * 
+     * @param <E>   the array component type.
+     * @param array the array.
+     */
+    private static <E> void checkArray(final E[] array) {
+        if (array == null) {
+            throw new NullPointerException("Input array is null.");
+        }
+    }
+
+    /**
+     * Checks that <code>index</code> is legal for an <code>array</code>.
+     * 
+     * @param <E>   the actual array component type.
+     * @param array the array.
+     * @param index the index.
+     */
+    private static <E> void checkIndexForArray(E[] array, int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                    "The index (" + index + ") may not be negative.");
+        }
+
+        if (index > array.length) {
+            throw new IllegalArgumentException(
+                    "The index (" + index + ") is too large. Should be at " +
+                    "most " + array.length);
+        }
+    }
+
+    /**
+     * Checks that the range of <code>length</code> components starting at
+     * <code>index</code> fits in an array of length <code>arrayLength</code>.
+     * 
+     * @param arrayLength the length of the array.
+     * @param index       the starting index of the range.
+     * @param length      the length of the range.
+     */
+    private static void checkBulkRange(final int arrayLength,
+                                       final int index,
+                                       final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(
+                    "The range length is negative: " + length);
+        }
+
+        if (index < 0 || index > arrayLength - length) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + index + ", " + ((long) index + length) + 
+                    ") does not fit in an array of length " + arrayLength + 
+                    ".");
+        }
+    }
+
+    /**
+     * Returns the number of the first <code>length</code> slice components 
+     * that reside between <code>fromIndex</code> and the end of the underlying
+     * array. The remaining components continue from the beginning of the 
+     * array.
+     * 
+     * @param length the number of leading slice components to consider.
+     * @return the length of the head segment.
+     */
+    private int headSegmentLength(final int length) {
+        return Math.min(length, array.length - fromIndex);
+    }
+
+    /**
+     * Checks that the range of slice indices from <code>fromIndex</code> 
+     * (inclusive) to <code>toIndex</code> (exclusive) is valid.
+     * 
+     * @param fromIndex the starting (inclusive) slice index.
+     * @param toIndex   the ending (exclusive) slice index.
+     */
+    private void checkSliceRange(final int fromIndex, final int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(
+                    "fromIndex (" + fromIndex + ") is larger than toIndex (" + 
+                    toIndex + ").");
+        }
+
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + fromIndex + ", " + toIndex + ") is " +
+                    "invalid. Should be within [0, " + size + "].");
+        }
+    }
+
+    /**
+     * Fixes the size and the position of this slice: the operations changing
+     * them throw {@link UnsupportedOperationException} from now on.
+     */
+    void markFixedSize() {
+        fixedSize = true;
+    }
+
+    /**
+     * Points this slice at an empty array, so that it no longer reaches the
+     * array it was created with.
+     */
+    void detach() {
+        array = newArray(0);
+        fromIndex = 0;
+        size = 0;
+        ++modCount;
+    }
+
+    /**
+     * Checks that this slice may change its size or position.
+     * 
+     * @throws UnsupportedOperationException if this slice has a fixed size.
+     */
+    private void checkNotFixedSize() {
+        if (fixedSize) {
+            throw new UnsupportedOperationException(
+                    "The slice has a fixed size.");
+        }
+    }
+
+    /**
+     * Checks that <code>index</code> is a valid insertion index.
+     * 
+     * @param index the index to check.
+     */
+    private void checkInsertionIndex(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    "The insertion index is invalid: " + index + ". Should " +
+                    "be in range [0, " + size + "].");
+        }
+    }
+
+    /**
+     * Makes sure this slice may be expanded by <code>amount</code> 
+     * components, growing the underlying array if this slice is growable.
+     * 
+     * @param amount the expansion length.
+     * @throws IllegalStateException if there is no room and this slice is 
+     *                               not growable.
+     */
+    private void ensureRoom(final int amount) {
+        checkNotFixedSize();
+
+        if (amount <= array.length - size) {
+            return;
+        }
+
+        if (!growable) {
+            throw new IllegalStateException(
+                    "No room for " + amount + " more components in a slice " +
+                    "of size " + size + " over an array of length " + 
+                    array.length + ".");
+        }
+
+        growIfNeeded(amount);
+    }
+
+    /**
+     * Opens a gap of <code>length</code> components at slice index 
+     * <code>index</code> by expanding the head or the tail of this slice, 
+     * whichever requires shifting fewer components. The caller must have 
+     * made room for the gap.
+     * 
+     * @param index  the slice index of the gap.
+     * @param length the length of the gap.
+     */
+    private void openGap(final int index, final int length) {
+        if (index < size - index) {
+            expandHead(length);
+            shift(length, length + index, -length);
+        } else {
+            final int oldSize = size;
+            expandTail(length);
+            shift(index, oldSize, length);
+        }
+
+        ++modCount;
+    }
+
+    /**
+     * Removes the <code>length</code> components starting at slice index 
+     * <code>index</code> by shifting the shorter side of this slice over 
+     * them and contracting the head or the tail. The vacated array 
+     * components are cleared.
+     * 
+     * @param index  the slice index of the first component to remove.
+     * @param length the number of components to remove.
+     */
+    private void closeGap(final int index, final int length) {
+        checkNotFixedSize();
+
+        if (index < size - index - length) {
+            shift(0, index, length);
+            clearRange(0, length);
+            contractHead(length);
+        } else {
+            shift(index + length, size, -length);
+            clearRange(size - length, size);
+            contractTail(length);
+        }
+
+        ++modCount;
+    }
+
+    /**
+     * Moves the components with slice indices from <code>from</code> 
+     * (inclusive) to <code>to</code> (exclusive) <code>distance</code> 
+     * positions towards the tail, or towards the head if 
+     * <code>distance</code> is negative. Overlapping ranges are handled.
+     * 
+     * @param from     the starting (inclusive) slice index.
+     * @param to       the ending (exclusive) slice index.
+     * @param distance the shift distance.
+     */
+    private void shift(final int from, final int to, final int distance) {
+        if (distance > 0) {
+            for (int i = to - 1; i >= from; --i) {
+                setImpl(i + distance, getImpl(i));
+            }
+        } else {
+            for (int i = from; i < to; ++i) {
+                setImpl(i + distance, getImpl(i));
+            }
+        }
+    }
+
+    /**
+     * Sets the components with slice indices from <code>from</code> 
+     * (inclusive) to <code>to</code> (exclusive) to <code>null</code>.
+     * 
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     */
+    private void clearRange(final int from, final int to) {
+        final int length = to - from;
+        final int i = physicalIndex(from);
+        final int headLength = Math.min(length, array.length - i);
+        Arrays.fill(array, i, i + headLength, null);
+        Arrays.fill(array, 0, length - headLength, null);
+    }
+
+    /**
+     * Returns the index of the first occurrence of <code>o</code> in
+     * <code>array[from], ..., array[to - 1]</code>, or <code>-1</code>.
+     * 
+     * @param array the array to search.
+     * @param from  the starting (inclusive) index.
+     * @param to    the ending (exclusive) index.
+     * @param o     the object to search for.
+     * @return the array index of <code>o</code> or <code>-1</code>.
+     */
+    private static int indexOf(final Object[] array, 
+                               final int from, 
+                               final int to, 
+                               final Object o) {
+        if (o == null) {
+            for (int i = from; i < to; ++i) {
+                if (array[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = from; i < to; ++i) {
+                if (o.equals(array[i])) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of <code>o</code> in
+     * <code>array[from], ..., array[to - 1]</code>, or <code>-1</code>.
+     * 
+     * @param array the array to search.
+     * @param from  the starting (inclusive) index.
+     * @param to    the ending (exclusive) index.
+     * @param o     the object to search for.
+     * @return the array index of <code>o</code> or <code>-1</code>.
+     */
+    private static int lastIndexOf(final Object[] array, 
+                                   final int from, 
+                                   final int to, 
+                                   final Object o) {
+        if (o == null) {
+            for (int i = to - 1; i >= from; --i) {
+                if (array[i] == null) {
+                    return i;
+                }
+            }
+        } else {
+            for (int i = to - 1; i >= from; --i) {
+                if (o.equals(array[i])) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks the access indices. As the {@link java.util.List} contract 
+     * requires, a bad index throws {@link IndexOutOfBoundsException} even if
+     * this slice is empty; only the deque view and the iterators throw 
+     * {@link NoSuchElementException}.
+     * 
+     * @param index the index to check.
+     */
+    private void checkAccessIndex(int index) {
+        final int size = size();
+
+        if (size == 0) {
+            throw new IndexOutOfBoundsException(
+                    "Accessing an empty slice at index " + index + ".");
+        }
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The input index is invalid: " + index + ". Should be " +
+                    "in range [0, " + (size - 1) + "].");
+        }
+    }
+
+    /**
+     * Maps the slice index <code>index</code> to the index of the backing
+     * array without checking it. Since both <code>fromIndex</code> and
+     * <code>index</code> are at most <code>array.length</code>, a conditional
+     * subtraction replaces the modulo. The sign of the difference selects
+     * whether to add <code>array.length</code> back, so no branch is taken.
+     * 
+     * @param index the slice index.
+     * @return the corresponding index of <code>array</code>.
+     */
+    private int physicalIndex(final int index) {
+        final int i = index - (array.length - fromIndex);
+        return i + ((i >> 31) & array.length);
+    }
+
+    /**
+     * Expands the front of this slice by <code>amount</code> array components.
+     * This slice may "cycle" the same way as at motion to the left or right.
+     * 
+     * @param amount the expansion length.
+     */
+    private void expandHead(int amount) {
+        checkNotNegative(amount);
+        growIfNeeded(amount);
+        final int actualAmount = Math.min(amount, array.length - size());
+        fromIndex -= actualAmount;
+        size += actualAmount;
+
+        if (fromIndex < 0) {
+            fromIndex += array.length;
+            SliceMetrics.wrappedAround();
+        }
+    }
+
+    /**
+     * Contracts the front of this slice by <code>amount</code> array
+     * components.
+     * 
+     * @param amount the contraction length.
+     */
+    private void contractHead(int amount) {
+        checkNotNegative(amount);
+        final int actualAmount = Math.min(amount, size());
+        fromIndex += actualAmount;
+        size -= actualAmount;
+
+        if (fromIndex >= array.length) {
+            fromIndex -= array.length;
+            SliceMetrics.wrappedAround();
+        }
+    }
+    
+    /**
+     * Expands the back of this slice by <code>amount</code> array components.
+     * 
+     * @param amount the expansion length.
+     */
+    private void expandTail(int amount) {
+        checkNotNegative(amount);
+        growIfNeeded(amount);
+        size += Math.min(amount, array.length - size());
+    }
+
+    /**
+     * Contracts the back of this slice by <code>amount</code> array components.
+     * 
+     * @param amount the contraction length.
+     */
+    private void contractTail(int amount) {
+        checkNotNegative(amount);
+        size -= Math.min(amount, size());
+    }
+    
+    /**
+     * Reallocates the underlying array of a growable slice if it has no room
+     * for <code>amount</code> more components.
+     * 
+     * @param amount the expansion length.
+     */
+    private void growIfNeeded(final int amount) {
+        if (!growable || amount <= array.length - size) {
+            return;
+        }
+
+        if (amount > MAX_CAPACITY - size) {
+            throw new OutOfMemoryError(
+                    "Cannot grow a slice of size " + size + " by " + amount +
+                    " components.");
+        }
+
+        grow(size + amount);
+    }
+
+    /**
+     * Reallocates the underlying array to a length of at least 
+     * <code>minCapacity</code>, growing it by at least half of its current
+     * length.
+     * 
+     * @param minCapacity the required capacity.
+     */
+    private void grow(final int minCapacity) {
+        final int oldCapacity = array.length;
+        final int newCapacity = 
+                (int) Math.min(MAX_CAPACITY, 
+                               Math.max((long) minCapacity, 
+                                        oldCapacity + (oldCapacity >> 1)));
+        reallocate(newCapacity);
+    }
+
+    /**
+     * Copies the components of this slice to the beginning of a new array of
+     * length <code>capacity</code> with at most two calls to 
+     * {@link System#arraycopy}, and slices the new array instead.
+     * 
+     * @param capacity the length of the new array.
+     */
+    private void reallocate(final int capacity) {
+        SliceMetrics.arrayAllocated();
+        final E[] newArray = newArray(capacity);
+        copyRangeTo(0, size, newArray, 0);
+        array = newArray;
+        fromIndex = 0;
+        ++modCount;
+    }
+
+    /**
+     * Moves this slice <code>steps</code> to the left. If the head of this
+     * slice, while moving to the left, leaves the beginning of the underlying
+     * array, it reappears at the right end of the array.
+     * 
+     * @param steps the amount of steps to move.
+     */
+    private void moveLeft(int steps) {
+        checkNotNegative(steps);
+        
+        if (array.length == 0) {
+            return;
+        }
+
+        fromIndex -= steps % array.length;
+
+        if (fromIndex < 0) {
+            fromIndex += array.length;
+            SliceMetrics.wrappedAround();
         }
     }
 
@@ -468,6 +1732,7 @@ public class Slice<E> implements Iterable<E> {
 
         if (fromIndex >= array.length) {
             fromIndex -= array.length;
+            SliceMetrics.wrappedAround();
         }
     }
     
@@ -483,98 +1748,279 @@ public class Slice<E> implements Iterable<E> {
             return;
         }
 
-        final int actualSteps = steps % size();
+        final int actualSteps = steps % size();
+
+        if (actualSteps == 0) {
+            return;
+        }
+
+        if (actualSteps <= size() - actualSteps) {
+            rotateLeftImpl(actualSteps);
+        } else {
+            rotateRightImpl(size() - actualSteps);
+        }
+    }
+
+    /**
+     * Cycles the array range covered by this slice <code>steps</code> steps to
+     * the right.
+     * 
+     * @param steps the amount of steps to cycle.
+     */
+    private void rotateRight(int steps) {
+        if (size() < 2) {
+            // Trivially cycled.
+            return;
+        }
+
+        final int actualSteps = steps % size();
+
+        if (actualSteps == 0) {
+            return;
+        }
+
+        if (actualSteps <= size() - actualSteps) {
+            rotateRightImpl(actualSteps);
+        } else {
+            rotateLeftImpl(size() - actualSteps);
+        }
+    }
+    
+    /**
+     * Implements the rotation of a slice to the left. The rotation is done in
+     * place by reversing the first <code>steps</code> components, then the 
+     * rest of the components, and finally the entire slice.
+     * 
+     * @param steps the amount of steps.
+     */
+    private void rotateLeftImpl(int steps) {
+        checkNotNegative(steps);
+        reverseRange(0, steps);
+        reverseRange(steps, size);
+        reverseRange(0, size);
+    }
+
+    /**
+     * Implements the rotation of a slice to the right. Just as 
+     * {@link #rotateLeftImpl(int)}, this one does not allocate any memory.
+     * 
+     * @param steps the amount of steps.
+     */
+    private void rotateRightImpl(int steps) {
+        checkNotNegative(steps);
+        reverseRange(0, size - steps);
+        reverseRange(size - steps, size);
+        reverseRange(0, size);
+    }
+
+    /**
+     * Reverses the slice components with indices from <code>from</code> 
+     * (inclusive) to <code>to</code> (exclusive). The two pointers walk the
+     * underlying array directly; the loop only checks for wrapping around
+     * the end of the array between runs of swaps, and there are at most 
+     * three such runs.
+     * 
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     */
+    private void reverseRange(final int from, final int to) {
+        final int swaps = (to - from) / 2;
+        SliceMetrics.elementsMoved(2L * swaps);
+        swapPairs(from, to, swaps);
+    }
+
+    /**
+     * Swaps the slice components <code>from + k</code> and 
+     * <code>to - 1 - k</code> for each <code>k</code> from zero to
+     * <code>swaps - 1</code>, the way {@link #reverseRange(int, int)} does.
+     * 
+     * @param from  the starting (inclusive) slice index.
+     * @param to    the ending (exclusive) slice index.
+     * @param swaps the number of swaps.
+     */
+    private void swapPairs(final int from, final int to, final int swaps) {
+        int swapsLeft = swaps;
+
+        if (swapsLeft == 0) {
+            return;
+        }
+
+        int left = physicalIndex(from);
+        int right = physicalIndex(to - 1);
+
+        while (swapsLeft > 0) {
+            // The number of swaps until one of the pointers wraps around.
+            final int run = Math.min(swapsLeft, 
+                                     Math.min(array.length - left, right + 1));
+
+            for (int i = 0; i < run; ++i, ++left, --right) {
+                final E tmp = array[left];
+                array[left] = array[right];
+                array[right] = tmp;
+            }
+
+            swapsLeft -= run;
 
-        if (actualSteps == 0) {
-            return;
+            if (left == array.length) {
+                left = 0;
+            }
+
+            if (right < 0) {
+                right = array.length - 1;
+            }
         }
+    }
 
-        if (actualSteps <= size() - actualSteps) {
-            rotateLeftImpl(actualSteps);
+    /**
+     * Reverses the slice components with indices from <code>from</code>
+     * (inclusive) to <code>to</code> (exclusive), in parallel if there are
+     * at least <code>PARALLEL_THRESHOLD</code> swaps to do.
+     * 
+     * @param from the starting (inclusive) slice index.
+     * @param to   the ending (exclusive) slice index.
+     */
+    private void parallelReverseRange(final int from, final int to) {
+        final int swaps = (to - from) / 2;
+        SliceMetrics.elementsMoved(2L * swaps);
+
+        if (swaps < PARALLEL_THRESHOLD) {
+            swapPairs(from, to, swaps);
         } else {
-            rotateRightImpl(size() - actualSteps);
+            ForkJoinPool.commonPool().invoke(
+                    new ReverseTask(from, to, 0, swaps));
         }
     }
 
     /**
-     * Cycles the array range covered by this slice <code>steps</code> steps to
-     * the right.
+     * Merges the sorted runs of slice components <code>[from, middle)</code>
+     * and <code>[middle, to)</code> stably and without allocating. The longer
+     * run is split in half, the matching split point of the other run is
+     * found by binary search, the two inner blocks are swapped by a rotation
+     * and the two resulting pairs of runs are merged recursively.
      * 
-     * @param steps the amount of steps to cycle.
+     * @param from       the starting (inclusive) slice index.
+     * @param middle     the starting slice index of the second run.
+     * @param to         the ending (exclusive) slice index.
+     * @param comparator the comparator.
      */
-    private void rotateRight(int steps) {
-        if (size() < 2) {
-            // Trivially cycled.
+    private void mergeRange(final int from, 
+                            final int middle,
+                            final int to,
+                            final Comparator<? super E> comparator) {
+        if (from == middle || middle == to || 
+                comparator.compare(getImpl(middle - 1), 
+                                   getImpl(middle)) <= 0) {
             return;
         }
 
-        final int actualSteps = steps % size();
-
-        if (actualSteps == 0) {
-            return;
-        }
+        final int firstCut;
+        final int secondCut;
 
-        if (actualSteps <= size() - actualSteps) {
-            rotateRightImpl(actualSteps);
+        if (middle - from >= to - middle) {
+            firstCut = (from + middle) >>> 1;
+            secondCut = lowerBound(middle, to, getImpl(firstCut), comparator);
         } else {
-            rotateLeftImpl(size() - actualSteps);
+            secondCut = (middle + to) >>> 1;
+            firstCut = upperBound(from, middle, getImpl(secondCut), comparator);
         }
+
+        final int newMiddle = firstCut + (secondCut - middle);
+        rotateRange(firstCut, middle, secondCut);
+        mergeRange(from, firstCut, newMiddle, comparator);
+        mergeRange(newMiddle, secondCut, to, comparator);
     }
-    
+
     /**
-     * Implements the rotation of a slice to the left.
+     * Returns the first slice index in <code>[from, to)</code> whose component
+     * is not less than <code>key</code>, or <code>to</code> if there is none.
      * 
-     * @param steps the amount of steps.
+     * @param from       the starting (inclusive) slice index.
+     * @param to         the ending (exclusive) slice index.
+     * @param key        the key to search for.
+     * @param comparator the comparator.
+     * @return the lower bound of <code>key</code>.
      */
-    private void rotateLeftImpl(int steps) {
-        checkNotNegative(steps);
-        final Object[] buffer = new Object[steps];
+    private int lowerBound(int from, 
+                           int to, 
+                           final E key, 
+                           final Comparator<? super E> comparator) {
+        while (from < to) {
+            final int mid = (from + to) >>> 1;
 
-        int index = 0;
-
-        // Load the buffer.
-        for (; index < steps; ++index) {
-            buffer[index] = get(index);
+            if (comparator.compare(getImpl(mid), key) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
         }
 
-        // Rotate.
-        for (int j = 0; index < size; ++index, ++j) {
-            set(j, get(index));
-        }
+        return from;
+    }
 
-        index -= steps;
+    /**
+     * Returns the first slice index in <code>[from, to)</code> whose component
+     * is greater than <code>key</code>, or <code>to</code> if there is none.
+     * 
+     * @param from       the starting (inclusive) slice index.
+     * @param to         the ending (exclusive) slice index.
+     * @param key        the key to search for.
+     * @param comparator the comparator.
+     * @return the upper bound of <code>key</code>.
+     */
+    private int upperBound(int from, 
+                           int to, 
+                           final E key, 
+                           final Comparator<? super E> comparator) {
+        while (from < to) {
+            final int mid = (from + to) >>> 1;
 
-        // Dump the buffer.
-        for (int j = 0; index < size; ++index, ++j) {
-            set(index, (E) buffer[j]);
+            if (comparator.compare(key, getImpl(mid)) < 0) {
+                to = mid;
+            } else {
+                from = mid + 1;
+            }
         }
+
+        return from;
     }
 
     /**
-     * Implements the rotation of a slice to the right.
+     * Swaps the adjacent blocks of slice components <code>[from, middle)</code>
+     * and <code>[middle, to)</code> by three reversals. Unlike
+     * {@link #reverse()} and {@link #rotate(int)}, sorting permutes the
+     * components in place, so the swaps are not counted in
+     * {@link SliceMetrics}.
      * 
-     * @param steps the amount of steps.
+     * @param from   the starting (inclusive) slice index.
+     * @param middle the starting slice index of the second block.
+     * @param to     the ending (exclusive) slice index.
      */
-    private void rotateRightImpl(int steps) {
-        checkNotNegative(steps);
-        final Object[] buffer = new Object[steps];
-
-        // Load the buffer.
-        for (int i = 0, j = size - steps; i < steps; ++i, ++j) {
-            buffer[i] = get(j);
-        }
+    private void rotateRange(final int from, 
+                             final int middle, 
+                             final int to) {
+        swapPairs(from, middle, (middle - from) / 2);
+        swapPairs(middle, to, (to - middle) / 2);
+        swapPairs(from, to, (to - from) / 2);
+    }
 
-        // Rotate.
-        for (int i = size - steps - 1; i >= 0; --i) {
-            set(i + steps, get(i));
+    /**
+     * Returns <code>comparator</code>, or the natural ordering if it is 
+     * <code>null</code>.
+     * 
+     * @param <E>        the component type.
+     * @param comparator the comparator.
+     * @return a non-<code>null</code> comparator.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Comparator<? super E> comparatorOrNatural(
+            final Comparator<? super E> comparator) {
+        if (comparator != null) {
+            return comparator;
         }
 
-        // Dump the buffer.
-        for (int i = 0; i < buffer.length; ++i) {
-            set(i, (E) buffer[i]);
-        }
+        return (a, b) -> ((Comparable<Object>) a).compareTo(b);
     }
-    
+
     /**
      * Checks that <code>number</code> is not negative.
      * 
@@ -587,8 +2033,239 @@ public class Slice<E> implements Iterable<E> {
         }
     }
 
+    /**
+     * This class implements the double-ended queue view of this slice. The 
+     * head of the deque is the head of the slice.
+     */
+    private final class DequeView extends AbstractCollection<E> 
+                                  implements Deque<E> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return Slice.this.iterator();
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return new Iterator<E>() {
+
+                private int index = size - 1;
+                private final int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return index >= 0;
+                }
+
+                @Override
+                public E next() {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+
+                    if (index < 0) {
+                        throw new NoSuchElementException(
+                                "Iterator exceeded.");
+                    }
+
+                    return getImpl(index--);
+                }
+            };
+        }
+
+        @Override
+        public void addFirst(final E element) {
+            ensureRoom(1);
+            expandHead(1);
+            setImpl(0, element);
+            ++modCount;
+        }
+
+        @Override
+        public void addLast(final E element) {
+            Slice.this.add(element);
+        }
+
+        @Override
+        public boolean offerFirst(final E element) {
+            if (!growable && size == array.length) {
+                return false;
+            }
+
+            addFirst(element);
+            return true;
+        }
+
+        @Override
+        public boolean offerLast(final E element) {
+            if (!growable && size == array.length) {
+                return false;
+            }
+
+            addLast(element);
+            return true;
+        }
+
+        @Override
+        public E removeFirst() {
+            checkNotEmpty();
+            return pollFirst();
+        }
+
+        @Override
+        public E removeLast() {
+            checkNotEmpty();
+            return pollLast();
+        }
+
+        @Override
+        public E pollFirst() {
+            checkNotFixedSize();
+
+            if (size == 0) {
+                return null;
+            }
+
+            final E element = getImpl(0);
+            setImpl(0, null);
+            contractHead(1);
+            ++modCount;
+            return element;
+        }
+
+        @Override
+        public E pollLast() {
+            checkNotFixedSize();
+
+            if (size == 0) {
+                return null;
+            }
+
+            final int i = physicalIndex(size - 1);
+            final E element = array[i];
+            array[i] = null;
+            contractTail(1);
+            ++modCount;
+            return element;
+        }
+
+        @Override
+        public E getFirst() {
+            checkNotEmpty();
+            return getImpl(0);
+        }
+
+        @Override
+        public E getLast() {
+            checkNotEmpty();
+            return getImpl(size - 1);
+        }
+
+        @Override
+        public E peekFirst() {
+            return size == 0 ? null : getImpl(0);
+        }
+
+        @Override
+        public E peekLast() {
+            return size == 0 ? null : getImpl(size - 1);
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(final Object o) {
+            return Slice.this.remove(o);
+        }
+
+        @Override
+        public boolean removeLastOccurrence(final Object o) {
+            final int index = Slice.this.lastIndexOf(o);
+
+            if (index < 0) {
+                return false;
+            }
+
+            closeGap(index, 1);
+            return true;
+        }
+
+        @Override
+        public boolean add(final E element) {
+            addLast(element);
+            return true;
+        }
+
+        @Override
+        public boolean offer(final E element) {
+            return offerLast(element);
+        }
+
+        @Override
+        public E remove() {
+            return removeFirst();
+        }
+
+        @Override
+        public E poll() {
+            return pollFirst();
+        }
+
+        @Override
+        public E element() {
+            return getFirst();
+        }
+
+        @Override
+        public E peek() {
+            return peekFirst();
+        }
+
+        @Override
+        public void push(final E element) {
+            addFirst(element);
+        }
+
+        @Override
+        public E pop() {
+            return removeFirst();
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return removeFirstOccurrence(o);
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return Slice.this.contains(o);
+        }
+
+        @Override
+        public void clear() {
+            Slice.this.clear();
+        }
+
+        @Override
+        public String toString() {
+            return Slice.this.toString();
+        }
+
+        private void checkNotEmpty() {
+            if (size == 0) {
+                throw new NoSuchElementException("The deque is empty.");
+            }
+        }
+    }
+
     /**
      * This class implements an iterator over this slice's array components.
+     * The iterator is fail-fast: if the slice is moved or its pointers are
+     * shifted during iteration, the iterator throws
+     * {@link ConcurrentModificationException}.
      */
     private class SliceIterator implements Iterator<E> {
 
@@ -602,11 +2279,17 @@ public class Slice<E> implements Iterable<E> {
          */
         private int toIterateLeft;
 
+        /**
+         * The modification count of the slice this iterator expects.
+         */
+        private final int expectedModCount;
+
         /**
          * Constructs a new slice iterator.
          */
         SliceIterator() {
             toIterateLeft = Slice.this.size;
+            expectedModCount = modCount;
         }
 
         /**
@@ -626,12 +2309,193 @@ public class Slice<E> implements Iterable<E> {
          */
         @Override
         public E next() {
+            checkForComodification();
+
             if (toIterateLeft == 0) {
                 throw new NoSuchElementException("Iterator exceeded.");
             }
 
             --toIterateLeft;
-            return Slice.this.get(index++);
+            return array[physicalIndex(index++)];
+        }
+
+        /**
+         * Applies <code>action</code> to all the remaining components.
+         * 
+         * @param action the action to apply.
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            checkForComodification();
+            final int from = index;
+            index += toIterateLeft;
+            toIterateLeft = 0;
+            forEachImpl(from, index, action);
+        }
+
+        /**
+         * Checks that the slice has not been moved since this iterator was
+         * created.
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * This class implements a spliterator over this slice's array components.
+     */
+    private class SliceSpliterator implements Spliterator<E> {
+
+        /**
+         * The slice index of the next component to process.
+         */
+        private int index;
+
+        /**
+         * The slice index one past the last component to process.
+         */
+        private final int fence;
+
+        /**
+         * The modification count of the slice this spliterator expects.
+         */
+        private final int expectedModCount;
+
+        /**
+         * Constructs a new spliterator over the slice components with indices
+         * from <code>index</code> (inclusive) to <code>fence</code> 
+         * (exclusive).
+         * 
+         * @param index the starting (inclusive) slice index.
+         * @param fence the ending (exclusive) slice index.
+         */
+        SliceSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = modCount;
+        }
+
+        /**
+         * Processes the next component, if there is one.
+         * 
+         * @param action the action to apply.
+         * @return <code>true</code> if a component was processed.
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException("Action is null.");
+            }
+
+            checkForComodification();
+
+            if (index >= fence) {
+                return false;
+            }
+
+            action.accept(array[physicalIndex(index++)]);
+            return true;
+        }
+
+        /**
+         * Processes all the remaining components.
+         * 
+         * @param action the action to apply.
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            checkForComodification();
+            final int from = index;
+            index = fence;
+            forEachImpl(from, fence, action);
+        }
+
+        /**
+         * Splits off the first half of the remaining components.
+         * 
+         * @return a spliterator or <code>null</code> if too few components
+         *         remain.
+         */
+        @Override
+        public Spliterator<E> trySplit() {
+            final int middle = (index + fence) >>> 1;
+
+            if (index >= middle) {
+                return null;
+            }
+
+            final Spliterator<E> prefix = new SliceSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        /**
+         * Returns the exact number of components yet to process.
+         * 
+         * @return the number of remaining components.
+         */
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        /**
+         * Returns the characteristics of this spliterator.
+         * 
+         * @return the characteristics.
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | 
+                   Spliterator.SUBSIZED;
+        }
+
+        /**
+         * Checks that the slice has not been moved since this spliterator was
+         * created.
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * This class implements a task reversing a slice range. The task owns the
+     * swaps from <code>lo</code> (inclusive) to <code>hi</code> (exclusive);
+     * the swaps are independent of each other, so the task simply splits 
+     * them in halves until there are at most 
+     * <code>PARALLEL_THRESHOLD</code> of them.
+     */
+    @SuppressWarnings("serial")
+    private final class ReverseTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int lo;
+        private final int hi;
+
+        ReverseTask(int from, int to, int lo, int hi) {
+            this.from = from;
+            this.to = to;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_THRESHOLD) {
+                swapPairs(from + lo, to - lo, hi - lo);
+                return;
+            }
+
+            final int mid = (lo + hi) >>> 1;
+            invokeAll(new ReverseTask(from, to, lo, mid),
+                      new ReverseTask(from, to, mid, hi));
         }
     }
 }
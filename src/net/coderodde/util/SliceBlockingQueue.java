@@ -0,0 +1,427 @@
+package net.coderodde.util;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class implements a bounded blocking queue on top of a {@link Slice}
+ * ring: enqueueing expands the tail of the slice and dequeueing contracts its
+ * head, both under a single lock. The point of the ring is
+ * {@link #drainTo(Collection, int)}: the drained elements occupy at most two
+ * contiguous segments of the backing array, which are copied out with at
+ * most two calls to {@link System#arraycopy} and cleared with at most two
+ * calls to {@link Arrays#fill}, so that a consumer may take thousands of
+ * elements per lock acquisition. The drained elements are added to the
+ * target collection after releasing the lock.
+ *
+ * <p>A thread that has to wait first spins for a short while, watching a
+ * volatile copy of the element count without taking the lock, and only then
+ * parks on a condition. This avoids parking when the other side reacts
+ * within a few microseconds.
+ *
+ * <p>The iterator traverses a snapshot of the queue and does not support
+ * removal. The queue does not accept <code>null</code> elements.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the element type.
+ * @version 1.61
+ */
+public final class SliceBlockingQueue<E> extends AbstractQueue<E>
+                                         implements BlockingQueue<E> {
+
+    /**
+     * The number of times a waiting thread checks the element count before
+     * parking.
+     */
+    private static final int SPIN_TRIES = 128;
+
+    /**
+     * The ring holding the elements, head first.
+     */
+    private final Slice<E> ring;
+
+    /**
+     * The deque view of the ring.
+     */
+    private final Deque<E> deque;
+
+    /**
+     * Guards the ring.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Signalled when the queue becomes non-empty.
+     */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Signalled when the queue gets room.
+     */
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * The number of elements, written under the lock and read by spinning
+     * threads without it.
+     */
+    private volatile int count;
+
+    /**
+     * Constructs a new queue holding at most <code>capacity</code> elements.
+     *
+     * @param capacity the capacity of the queue.
+     */
+    @SuppressWarnings("unchecked")
+    public SliceBlockingQueue(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "The capacity must be positive: " + capacity);
+        }
+
+        this.ring = Slice.of((E[]) new Object[capacity], 0, 0);
+        this.deque = ring.asDeque();
+    }
+
+    /**
+     * Returns the maximum number of elements this queue can hold.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return ring.capacity();
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return ring.capacity() - count;
+    }
+
+    @Override
+    public boolean offer(final E element) {
+        checkElement(element);
+        lock.lock();
+
+        try {
+            if (ring.size() == ring.capacity()) {
+                return false;
+            }
+
+            enqueue(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(final E element,
+                         final long timeout,
+                         final TimeUnit unit) throws InterruptedException {
+        checkElement(element);
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        spinWhile(true, deadline);
+        lock.lockInterruptibly();
+
+        try {
+            long nanos = deadline - System.nanoTime();
+
+            while (ring.size() == ring.capacity()) {
+                if (nanos <= 0L) {
+                    return false;
+                }
+
+                nanos = notFull.awaitNanos(nanos);
+            }
+
+            enqueue(element);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(final E element) throws InterruptedException {
+        checkElement(element);
+        spinWhile(true);
+        lock.lockInterruptibly();
+
+        try {
+            while (ring.size() == ring.capacity()) {
+                notFull.await();
+            }
+
+            enqueue(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        lock.lock();
+
+        try {
+            return ring.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(final long timeout, final TimeUnit unit)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        spinWhile(false, deadline);
+        lock.lockInterruptibly();
+
+        try {
+            long nanos = deadline - System.nanoTime();
+
+            while (ring.isEmpty()) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        spinWhile(false);
+        lock.lockInterruptibly();
+
+        try {
+            while (ring.isEmpty()) {
+                notEmpty.await();
+            }
+
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        lock.lock();
+
+        try {
+            return deque.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes at most <code>maxElements</code> elements from the head of this
+     * queue and adds them to <code>collection</code> in order. The elements
+     * are copied out of the ring segment by segment under the lock, and added
+     * to the collection after releasing it.
+     *
+     * @param collection  the collection to add the elements to.
+     * @param maxElements the maximum number of elements to drain.
+     * @return the number of elements drained.
+     */
+    @Override
+    public int drainTo(final Collection<? super E> collection,
+                       final int maxElements) {
+        if (collection == null) {
+            throw new NullPointerException("Input collection is null.");
+        }
+
+        if (collection == this) {
+            throw new IllegalArgumentException(
+                    "Cannot drain a queue to itself.");
+        }
+
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        final Object[] batch;
+        lock.lock();
+
+        try {
+            final int n = Math.min(maxElements, ring.size());
+
+            if (n == 0) {
+                return 0;
+            }
+
+            batch = new Object[n];
+            ring.copyRangeTo(0, n, batch, 0);
+            ring.removeRange(0, n);
+            count = ring.size();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        @SuppressWarnings("unchecked")
+        final Collection<E> elements = (Collection<E>) Arrays.asList(batch);
+        collection.addAll(elements);
+        return batch.length;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        lock.lock();
+
+        try {
+            return ring.contains(o);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        lock.lock();
+
+        try {
+            if (!ring.remove(o)) {
+                return false;
+            }
+
+            count = ring.size();
+            notFull.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+
+        try {
+            ring.clear();
+            count = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        lock.lock();
+
+        try {
+            final Object[] result = new Object[ring.size()];
+            ring.copyRangeTo(0, result.length, result, 0);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of this queue, head first.
+     *
+     * @return an iterator.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        return (Iterator<E>) Arrays.asList(toArray()).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Appends <code>element</code> to the ring and wakes up a consumer. The
+     * caller must hold the lock and have checked that there is room.
+     *
+     * @param element the element to append.
+     */
+    private void enqueue(final E element) {
+        deque.addLast(element);
+        count = ring.size();
+        notEmpty.signal();
+    }
+
+    /**
+     * Removes the head of the ring and wakes up a producer. The caller must
+     * hold the lock and have checked that the ring is not empty.
+     *
+     * @return the removed element.
+     */
+    private E dequeue() {
+        final E element = deque.pollFirst();
+        count = ring.size();
+        notFull.signal();
+        return element;
+    }
+
+    /**
+     * Spins for at most <code>SPIN_TRIES</code> iterations while this queue
+     * is full, or while it is empty if <code>full</code> is
+     * <code>false</code>. The caller checks the condition again under the
+     * lock.
+     *
+     * @param full whether to wait for room instead of for an element.
+     */
+    private void spinWhile(final boolean full) {
+        final int limit = full ? ring.capacity() : 0;
+
+        for (int i = 0; i < SPIN_TRIES && count == limit; ++i) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Spins as {@link #spinWhile(boolean)} does, but stops once
+     * <code>deadline</code> has passed, so that the spinning counts against
+     * the timeout of the caller. Does not spin at all if the deadline has
+     * already passed.
+     *
+     * @param full     whether to wait for room instead of for an element.
+     * @param deadline the deadline in terms of {@link System#nanoTime()}.
+     */
+    private void spinWhile(final boolean full, final long deadline) {
+        final int limit = full ? ring.capacity() : 0;
+
+        for (int i = 0;
+                 i < SPIN_TRIES &&
+                 count == limit &&
+                 deadline - System.nanoTime() > 0L;
+                 ++i) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void checkElement(final Object element) {
+        if (element == null) {
+            throw new NullPointerException("The element is null.");
+        }
+    }
+}
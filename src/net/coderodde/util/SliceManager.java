@@ -0,0 +1,602 @@
+package net.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class hands out non-overlapping cyclic windows over one shared array,
+ * called the arena. Each window is a fixed-size {@link Slice} over the arena:
+ * its users read, write, reverse, rotate and sort it as usual, none of which
+ * touches an arena component outside of the window, but the operations that
+ * would change its size or position, such as the list insertions and
+ * removals, the pointer moves and the growable mode, throw
+ * {@link UnsupportedOperationException}. The window may only be moved or
+ * resized through this manager, which checks that the new range does not
+ * collide with any other window. Moving a window carries its contents along.
+ * The free arena components are always <code>null</code>: the components a
+ * window no longer covers are cleared, and a new or grown window starts out
+ * with <code>null</code> components.
+ *
+ * <p>The windows are kept in a tree map keyed by their starting index, so
+ * that checking a range against its neighbouring windows takes logarithmic
+ * time in the number of windows. A window may wrap around the end of the
+ * arena like any slice. Allocation is first-fit; once the free space gets
+ * fragmented, {@link #compact()} packs the windows next to each other.
+ *
+ * <p>The manager still checks that a window has not been changed behind its
+ * back, and throws {@link ConcurrentModificationException} if it has. The
+ * manager is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the actual array component type.
+ * @version 1.61
+ */
+public final class SliceManager<E> {
+
+    /**
+     * The shared array.
+     */
+    private final E[] arena;
+
+    /**
+     * Maps the starting index of each window to the window.
+     */
+    private final TreeMap<Integer, Window<E>> windowsByStart = new TreeMap<>();
+
+    /**
+     * Maps each handed out slice to its window. Slices are compared by
+     * identity, since two windows with equal contents are equal lists.
+     */
+    private final Map<Slice<E>, Window<E>> windowsBySlice =
+            new IdentityHashMap<>();
+
+    /**
+     * The total size of the windows.
+     */
+    private int usedSpace;
+
+    /**
+     * Constructs a manager over <code>arena</code>. The whole arena is
+     * initially free, so its current contents are cleared.
+     *
+     * @param arena the shared array.
+     */
+    public SliceManager(final E[] arena) {
+        if (arena == null) {
+            throw new NullPointerException("Input array is null.");
+        }
+
+        Arrays.fill(arena, null);
+        this.arena = arena;
+    }
+
+    /**
+     * Returns the length of the arena.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return arena.length;
+    }
+
+    /**
+     * Returns the number of arena components not covered by any window.
+     *
+     * @return the free space.
+     */
+    public int freeSpace() {
+        return arena.length - usedSpace;
+    }
+
+    /**
+     * Returns the number of windows.
+     *
+     * @return the number of windows.
+     */
+    public int windowCount() {
+        return windowsByStart.size();
+    }
+
+    /**
+     * Returns the length of the longest range of free arena components,
+     * which is the largest window {@link #allocate(int)} can currently hand
+     * out.
+     *
+     * @return the length of the longest free range.
+     */
+    public int largestFreeRange() {
+        if (windowsByStart.isEmpty()) {
+            return arena.length;
+        }
+
+        int largest = 0;
+
+        for (final Window<E> window : windowsByStart.values()) {
+            largest = Math.max(largest, gapAfter(window));
+        }
+
+        return largest;
+    }
+
+    /**
+     * Allocates a window of <code>size</code> components at the beginning of
+     * the first free range, in the order of the arena indices, that is long
+     * enough.
+     *
+     * @param size the size of the window.
+     * @return the new window.
+     * @throws IllegalStateException if no free range is long enough.
+     */
+    public Slice<E> allocate(final int size) {
+        checkSize(size);
+
+        if (windowsByStart.isEmpty()) {
+            if (size > arena.length) {
+                throw noRoom(size);
+            }
+
+            return register(0, size);
+        }
+
+        for (final Window<E> window : windowsByStart.values()) {
+            if (gapAfter(window) >= size) {
+                return register(end(window), size);
+            }
+        }
+
+        throw noRoom(size);
+    }
+
+    /**
+     * Releases <code>slice</code> and clears the arena components it covered.
+     * The slice is detached from the arena: it becomes an empty slice over an
+     * empty array, so that writing through it cannot reach the window
+     * allocated at the same range later.
+     *
+     * @param slice the window to release.
+     */
+    public void release(final Slice<E> slice) {
+        final Window<E> window = lookup(slice);
+        clear(window.start, window.size);
+        windowsByStart.remove(window.start);
+        windowsBySlice.remove(slice);
+        usedSpace -= window.size;
+        slice.detach();
+    }
+
+    /**
+     * Moves <code>slice</code> together with its contents <code>delta</code>
+     * components to the right, or to the left if <code>delta</code> is
+     * negative. The window may wrap around the end of the arena.
+     *
+     * @param slice the window to move.
+     * @param delta the movement delta.
+     * @throws IllegalStateException if the target range collides with
+     *                               another window.
+     */
+    public void move(final Slice<E> slice, final int delta) {
+        final Window<E> window = lookup(slice);
+        final int newStart = mod((long) window.start + delta);
+
+        if (newStart == window.start) {
+            return;
+        }
+
+        if (!isFree(newStart, window.size, window)) {
+            throw collision(newStart, window.size);
+        }
+
+        relocate(window, newStart);
+    }
+
+    /**
+     * Resizes <code>slice</code> by moving its tail pointer. The components
+     * dropped by shrinking the window are cleared, and the components added
+     * by growing it are <code>null</code>.
+     *
+     * @param slice   the window to resize.
+     * @param newSize the new size of the window.
+     * @throws IllegalStateException if the grown window would collide with
+     *                               another window.
+     */
+    public void resize(final Slice<E> slice, final int newSize) {
+        final Window<E> window = lookup(slice);
+        checkSize(newSize);
+
+        if (newSize > window.size) {
+            if (newSize > arena.length ||
+                    !isFree(window.start, newSize, window)) {
+                throw collision(window.start, newSize);
+            }
+        } else {
+            clear(mod((long) window.start + newSize), window.size - newSize);
+        }
+
+        slice.moveTailPointerImpl(newSize - window.size);
+        usedSpace += newSize - window.size;
+        window.size = newSize;
+    }
+
+    /**
+     * Packs all the windows next to each other, keeping their order, so that
+     * the free space becomes a single range. Each window is moved with at
+     * most a few calls to {@link System#arraycopy}, and the slices handed out
+     * remain valid.
+     */
+    public void compact() {
+        if (windowsByStart.isEmpty()) {
+            return;
+        }
+
+        for (final Window<E> window : windowsByStart.values()) {
+            checkForComodification(window);
+        }
+
+        // If the last window wraps around, the packing starts where it ends,
+        // so that the windows only ever move to the left.
+        final Window<E> last = windowsByStart.lastEntry().getValue();
+        final long lastEnd = (long) last.start + last.size;
+        int position = lastEnd > arena.length ?
+                       (int) (lastEnd - arena.length) :
+                       0;
+
+        // Relocating re-keys the windows, so iterate over a snapshot.
+        final ArrayList<Window<E>> windows =
+                new ArrayList<>(windowsByStart.values());
+
+        for (final Window<E> window : windows) {
+            if (window.start != position) {
+                relocate(window, position);
+            }
+
+            position = end(window);
+        }
+    }
+
+    /**
+     * Registers a new window.
+     *
+     * @param start the starting arena index of the window.
+     * @param size  the size of the window.
+     * @return the slice of the window.
+     */
+    private Slice<E> register(final int start, final int size) {
+        final Slice<E> slice = Slice.<E>create().withArray(arena).all();
+        slice.moveImpl(start);
+        slice.moveTailPointerImpl(size - arena.length);
+        slice.markFixedSize();
+
+        final Window<E> window = new Window<>(slice, start, size);
+        windowsByStart.put(start, window);
+        windowsBySlice.put(slice, window);
+        usedSpace += size;
+        return slice;
+    }
+
+    /**
+     * Moves the contents and the slice of <code>window</code> to
+     * <code>newStart</code> and clears the vacated arena components. The
+     * target range must be free.
+     *
+     * @param window   the window to move.
+     * @param newStart the new starting arena index.
+     */
+    private void relocate(final Window<E> window, final int newStart) {
+        final int length = arena.length;
+        final int size = window.size;
+        final int forward = mod((long) newStart - window.start);
+        final int backward = length - forward;
+
+        if (forward < size && backward < size) {
+            // The window is alone and overlaps its target at both ends, so
+            // rotating the whole arena moves it without losing anything.
+            rotateArena(forward);
+        } else if (forward < size) {
+            copyBackward(window.start, newStart, size);
+            clear(window.start, forward);
+        } else {
+            copyForward(window.start, newStart, size);
+            final int vacated = Math.min(backward, size);
+            clear(mod((long) window.start + size - vacated), vacated);
+        }
+
+        windowsByStart.remove(window.start);
+        window.slice.moveImpl(forward);
+        window.start = newStart;
+        windowsByStart.put(newStart, window);
+    }
+
+    /**
+     * Copies <code>size</code> cyclic arena components from <code>src</code>
+     * to <code>dest</code>, starting from the first component. Correct when
+     * the target does not overlap the source or starts before it.
+     *
+     * @param src  the starting arena index of the source.
+     * @param dest the starting arena index of the target.
+     * @param size the number of components to copy.
+     */
+    private void copyForward(int src, int dest, int size) {
+        while (size > 0) {
+            final int run = Math.min(size, Math.min(arena.length - src,
+                                                    arena.length - dest));
+            System.arraycopy(arena, src, arena, dest, run);
+            src = mod((long) src + run);
+            dest = mod((long) dest + run);
+            size -= run;
+        }
+    }
+
+    /**
+     * Copies <code>size</code> cyclic arena components from <code>src</code>
+     * to <code>dest</code>, starting from the last component. Correct when
+     * the target starts inside the source.
+     *
+     * @param src  the starting arena index of the source.
+     * @param dest the starting arena index of the target.
+     * @param size the number of components to copy.
+     */
+    private void copyBackward(final int src, final int dest, int size) {
+        // The exclusive ending indices, in [1, length].
+        int srcEnd = mod((long) src + size - 1) + 1;
+        int destEnd = mod((long) dest + size - 1) + 1;
+
+        while (size > 0) {
+            final int run = Math.min(size, Math.min(srcEnd, destEnd));
+            System.arraycopy(arena, srcEnd - run, arena, destEnd - run, run);
+            srcEnd -= run;
+            destEnd -= run;
+            size -= run;
+
+            if (srcEnd == 0) {
+                srcEnd = arena.length;
+            }
+
+            if (destEnd == 0) {
+                destEnd = arena.length;
+            }
+        }
+    }
+
+    /**
+     * Rotates the whole arena <code>steps</code> components to the right.
+     *
+     * @param steps the rotation distance.
+     */
+    private void rotateArena(final int steps) {
+        reverse(0, arena.length);
+        reverse(0, steps);
+        reverse(steps, arena.length);
+    }
+
+    /**
+     * Reverses the arena components <code>[from, to)</code>.
+     *
+     * @param from the starting (inclusive) arena index.
+     * @param to   the ending (exclusive) arena index.
+     */
+    private void reverse(int from, int to) {
+        for (--to; from < to; ++from, --to) {
+            final E tmp = arena[from];
+            arena[from] = arena[to];
+            arena[to] = tmp;
+        }
+    }
+
+    /**
+     * Sets <code>size</code> cyclic arena components starting at
+     * <code>start</code> to <code>null</code>.
+     *
+     * @param start the starting arena index.
+     * @param size  the number of components to clear.
+     */
+    private void clear(final int start, final int size) {
+        final int headLength = Math.min(size, arena.length - start);
+        Arrays.fill(arena, start, start + headLength, null);
+        Arrays.fill(arena, 0, size - headLength, null);
+    }
+
+    /**
+     * Returns <code>true</code> if the cyclic range of <code>size</code>
+     * arena components starting at <code>start</code> overlaps no window
+     * other than <code>ignored</code>. Only the closest window starting
+     * before the range and the closest window starting in or after it need
+     * to be checked.
+     *
+     * @param start   the starting arena index of the range.
+     * @param size    the length of the range.
+     * @param ignored the window to ignore.
+     * @return a boolean value.
+     */
+    private boolean isFree(final int start,
+                           final int size,
+                           final Window<E> ignored) {
+        final Window<E> previous = previous(start, ignored);
+
+        if (previous == null) {
+            // No other windows.
+            return true;
+        }
+
+        if (mod((long) start - previous.start) < previous.size) {
+            return false;
+        }
+
+        final Window<E> next = next(start, ignored);
+        return mod((long) next.start - start) >= size;
+    }
+
+    /**
+     * Returns the closest window other than <code>ignored</code> starting
+     * before <code>index</code>, wrapping around the arena.
+     *
+     * @param index   the arena index.
+     * @param ignored the window to skip.
+     * @return the previous window, or <code>null</code> if there is none.
+     */
+    private Window<E> previous(final int index, final Window<E> ignored) {
+        Map.Entry<Integer, Window<E>> entry = windowsByStart.lowerEntry(index);
+
+        for (int i = 0; i < 2; ++i) {
+            if (entry == null) {
+                entry = windowsByStart.lastEntry();
+            }
+
+            if (entry == null || entry.getValue() != ignored) {
+                break;
+            }
+
+            entry = windowsByStart.lowerEntry(entry.getKey());
+        }
+
+        if (entry == null || entry.getValue() == ignored) {
+            return null;
+        }
+
+        return entry.getValue();
+    }
+
+    /**
+     * Returns the closest window other than <code>ignored</code> starting at
+     * or after <code>index</code>, wrapping around the arena.
+     *
+     * @param index   the arena index.
+     * @param ignored the window to skip.
+     * @return the next window, or <code>null</code> if there is none.
+     */
+    private Window<E> next(final int index, final Window<E> ignored) {
+        Map.Entry<Integer, Window<E>> entry =
+                windowsByStart.ceilingEntry(index);
+
+        for (int i = 0; i < 2; ++i) {
+            if (entry == null) {
+                entry = windowsByStart.firstEntry();
+            }
+
+            if (entry == null || entry.getValue() != ignored) {
+                break;
+            }
+
+            entry = windowsByStart.higherEntry(entry.getKey());
+        }
+
+        if (entry == null || entry.getValue() == ignored) {
+            return null;
+        }
+
+        return entry.getValue();
+    }
+
+    /**
+     * Returns the number of free arena components following
+     * <code>window</code>.
+     *
+     * @param window the window.
+     * @return the length of the gap after the window.
+     */
+    private int gapAfter(final Window<E> window) {
+        final Map.Entry<Integer, Window<E>> entry =
+                windowsByStart.higherEntry(window.start);
+        final Window<E> next = entry != null ?
+                               entry.getValue() :
+                               windowsByStart.firstEntry().getValue();
+
+        if (next == window) {
+            return arena.length - window.size;
+        }
+
+        return mod((long) next.start - end(window));
+    }
+
+    /**
+     * Returns the arena index following the last component of
+     * <code>window</code>.
+     *
+     * @param window the window.
+     * @return the ending arena index modulo the arena length.
+     */
+    private int end(final Window<E> window) {
+        return mod((long) window.start + window.size);
+    }
+
+    /**
+     * Reduces <code>index</code> modulo the arena length.
+     *
+     * @param index the index to reduce.
+     * @return an index in <code>[0, capacity())</code>.
+     */
+    private int mod(final long index) {
+        return (int) Math.floorMod(index, (long) arena.length);
+    }
+
+    /**
+     * Returns the window of <code>slice</code> after checking that the slice
+     * has not been changed behind the back of this manager.
+     *
+     * @param slice the slice.
+     * @return the window.
+     */
+    private Window<E> lookup(final Slice<E> slice) {
+        final Window<E> window = windowsBySlice.get(slice);
+
+        if (window == null) {
+            throw new IllegalArgumentException(
+                    "The slice is not managed by this manager.");
+        }
+
+        checkForComodification(window);
+        return window;
+    }
+
+    private static void checkForComodification(final Window<?> window) {
+        // Sorting a window bumps its modification count, so compare the
+        // range instead.
+        if (window.slice.startIndex() != window.start ||
+                window.slice.size() != window.size) {
+            throw new ConcurrentModificationException(
+                    "The slice was moved or resized outside of its manager.");
+        }
+    }
+
+    private static void checkSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(
+                    "The window size must be positive: " + size);
+        }
+    }
+
+    private IllegalStateException noRoom(final int size) {
+        return new IllegalStateException(
+                "No free range of " + size + " components. Free space: " +
+                freeSpace() + ", largest free range: " + largestFreeRange() +
+                ".");
+    }
+
+    private static IllegalStateException collision(final int start,
+                                                   final int size) {
+        return new IllegalStateException(
+                "The range of " + size + " components starting at " + start +
+                " collides with another window.");
+    }
+
+    /**
+     * This class holds the bookkeeping of a window.
+     *
+     * @param <E> the actual array component type.
+     */
+    private static final class Window<E> {
+
+        final Slice<E> slice;
+        int start;
+        int size;
+
+        Window(Slice<E> slice, int start, int size) {
+            this.slice = slice;
+            this.start = start;
+            this.size = size;
+        }
+    }
+}
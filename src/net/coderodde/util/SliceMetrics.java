@@ -0,0 +1,193 @@
+package net.coderodde.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * This class counts the operations on the hot paths of the slices: the
+ * components moved by reversals and rotations, the calls moving a slice or
+ * one of its pointers, the wraparounds of the starting index around the ends
+ * of the array, the arrays allocated by growable slices and the iterators
+ * created. The counters are shared by all the slices in the JVM.
+ *
+ * <p>The counters are updated only if the system property
+ * <code>net.coderodde.util.slice.metrics</code> is <code>true</code> when
+ * this class is initialized. Since the flag is a <code>static final</code>
+ * field, the JIT compiler removes the updates altogether when it is not
+ * set. When it is set, the counters are {@link LongAdder}s, so that slices
+ * used by different threads do not contend for a single counter, and they
+ * are published both as the platform MBean
+ * <code>net.coderodde.util:type=SliceMetrics</code> and as the periodic
+ * Java Flight Recorder event <code>net.coderodde.util.SliceMetrics</code>.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+public final class SliceMetrics implements SliceMetricsMXBean {
+
+    /**
+     * The name of the system property enabling the metrics.
+     */
+    public static final String PROPERTY = "net.coderodde.util.slice.metrics";
+
+    /**
+     * The name of the MBean of the metrics.
+     */
+    public static final String OBJECT_NAME =
+            "net.coderodde.util:type=SliceMetrics";
+
+    /**
+     * Whether the counters are updated.
+     */
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final LongAdder ELEMENTS_MOVED = new LongAdder();
+    private static final LongAdder POINTER_MOVES = new LongAdder();
+    private static final LongAdder WRAPAROUNDS = new LongAdder();
+    private static final LongAdder ARRAY_ALLOCATIONS = new LongAdder();
+    private static final LongAdder ITERATORS_CREATED = new LongAdder();
+
+    /**
+     * The only instance of this class.
+     */
+    private static final SliceMetrics INSTANCE = new SliceMetrics();
+
+    static {
+        if (ENABLED) {
+            registerMBean();
+            FlightRecorder.addPeriodicEvent(SliceMetricsEvent.class,
+                                            SliceMetrics::emitEvent);
+        }
+    }
+
+    private SliceMetrics() {}
+
+    /**
+     * Returns the metrics.
+     *
+     * @return the metrics.
+     */
+    public static SliceMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public long getElementsMoved() {
+        return ELEMENTS_MOVED.sum();
+    }
+
+    @Override
+    public long getPointerMoves() {
+        return POINTER_MOVES.sum();
+    }
+
+    @Override
+    public long getWraparounds() {
+        return WRAPAROUNDS.sum();
+    }
+
+    @Override
+    public long getArrayAllocations() {
+        return ARRAY_ALLOCATIONS.sum();
+    }
+
+    @Override
+    public long getIteratorsCreated() {
+        return ITERATORS_CREATED.sum();
+    }
+
+    @Override
+    public void reset() {
+        ELEMENTS_MOVED.reset();
+        POINTER_MOVES.reset();
+        WRAPAROUNDS.reset();
+        ARRAY_ALLOCATIONS.reset();
+        ITERATORS_CREATED.reset();
+    }
+
+    /**
+     * Records that <code>count</code> components were moved.
+     *
+     * @param count the number of moved components.
+     */
+    static void elementsMoved(final long count) {
+        if (ENABLED) {
+            ELEMENTS_MOVED.add(count);
+        }
+    }
+
+    /**
+     * Records a call moving a slice or one of its pointers.
+     */
+    static void pointerMoved() {
+        if (ENABLED) {
+            POINTER_MOVES.increment();
+        }
+    }
+
+    /**
+     * Records a wraparound of the starting index of a slice.
+     */
+    static void wrappedAround() {
+        if (ENABLED) {
+            WRAPAROUNDS.increment();
+        }
+    }
+
+    /**
+     * Records an allocation of an array by a slice.
+     */
+    static void arrayAllocated() {
+        if (ENABLED) {
+            ARRAY_ALLOCATIONS.increment();
+        }
+    }
+
+    /**
+     * Records a creation of an iterator.
+     */
+    static void iteratorCreated() {
+        if (ENABLED) {
+            ITERATORS_CREATED.increment();
+        }
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, unless another
+     * copy of this class has already done so.
+     */
+    private static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                             .registerMBean(INSTANCE,
+                                            new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException ex) {
+            // Loaded by another class loader.
+        } catch (JMException ex) {
+            throw new IllegalStateException(
+                    "Cannot register the slice metrics MBean.", ex);
+        }
+    }
+
+    /**
+     * Emits a Java Flight Recorder event with the current counter values.
+     */
+    private static void emitEvent() {
+        final SliceMetricsEvent event = new SliceMetricsEvent();
+        event.elementsMoved = ELEMENTS_MOVED.sum();
+        event.pointerMoves = POINTER_MOVES.sum();
+        event.wraparounds = WRAPAROUNDS.sum();
+        event.arrayAllocations = ARRAY_ALLOCATIONS.sum();
+        event.iteratorsCreated = ITERATORS_CREATED.sum();
+        event.commit();
+    }
+}
@@ -0,0 +1,41 @@
+package net.coderodde.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class implements the periodic Java Flight Recorder event carrying the
+ * current values of the {@link SliceMetrics} counters. The event is emitted
+ * once a second by default while a recording is running and the metrics are
+ * enabled.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+@Name("net.coderodde.util.SliceMetrics")
+@Label("Slice Metrics")
+@Category("Java-Slice")
+@Description("Operation counters of the slices in the running JVM.")
+@Period("1 s")
+@StackTrace(false)
+final class SliceMetricsEvent extends jdk.jfr.Event {
+
+    @Label("Elements Moved")
+    long elementsMoved;
+
+    @Label("Pointer Moves")
+    long pointerMoves;
+
+    @Label("Wraparounds")
+    long wraparounds;
+
+    @Label("Array Allocations")
+    long arrayAllocations;
+
+    @Label("Iterators Created")
+    long iteratorsCreated;
+}
@@ -0,0 +1,61 @@
+package net.coderodde.util;
+
+/**
+ * This interface defines the management interface of {@link SliceMetrics},
+ * registered with the platform MBean server under
+ * <code>net.coderodde.util:type=SliceMetrics</code>.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+public interface SliceMetricsMXBean {
+
+    /**
+     * Returns <code>true</code> if the counters are being updated.
+     *
+     * @return a boolean value.
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the number of components moved by reversals and rotations.
+     * The swaps done while sorting are not counted.
+     *
+     * @return the number of moved components.
+     */
+    long getElementsMoved();
+
+    /**
+     * Returns the number of calls moving a slice or one of its pointers.
+     *
+     * @return the number of pointer moves.
+     */
+    long getPointerMoves();
+
+    /**
+     * Returns the number of times the starting index of a slice wrapped
+     * around an end of its array.
+     *
+     * @return the number of wraparounds.
+     */
+    long getWraparounds();
+
+    /**
+     * Returns the number of arrays allocated by growable slices.
+     *
+     * @return the number of allocations.
+     */
+    long getArrayAllocations();
+
+    /**
+     * Returns the number of iterators created over slices.
+     *
+     * @return the number of iterators.
+     */
+    long getIteratorsCreated();
+
+    /**
+     * Sets all the counters to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,478 @@
+package net.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a pipeline of consumer stages over a shared, bounded
+ * ring. A single producer thread publishes elements into the ring, and each
+ * stage, running in a thread of its own, processes the elements published by
+ * the producer or by the previous stage in batches. A batch is handed to the
+ * stage as a {@link Slice} over the ring itself, so that no element is ever
+ * copied between stages; a stage may replace the elements of its batch in
+ * place, and the next stage sees the replaced elements.
+ *
+ * <p>Each stage owns a cursor that moves like the head pointer of a slice:
+ * after processing a batch, the stage moves its cursor past the batch, which
+ * makes the batch available to the next stage. A stage that catches up with
+ * its upstream waits, and so does the producer when the last stage lags a
+ * whole ring behind. Hence, the slowest stage throttles the whole pipeline
+ * without any element being buffered outside the ring.
+ *
+ * <p>The stage threads are created by a {@link ThreadFactory}. Waiting spins
+ * for a short while and then parks for short periods of time through
+ * {@link LockSupport}, which does not pin the carrier thread of a virtual
+ * thread, so a factory of virtual threads may be passed on a Java runtime
+ * that supports them.
+ *
+ * <p>The batch slice passed to a stage has a fixed size: the operations that
+ * would change its size or position, such as the list insertions and
+ * removals, the pointer moves, {@link Slice#reset(Object[], int, int)} and
+ * the growable mode, throw {@link UnsupportedOperationException}, so that a
+ * stage cannot reach the elements owned by the other stages. The batch slice
+ * is reused for the next batch and must not be retained by the stage. If a
+ * stage throws, the pipeline stops and the exception is rethrown, wrapped, by
+ * {@link #publish(Object)} and {@link #close()}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the element type.
+ * @version 1.61
+ */
+public final class SlicePipeline<E> {
+
+    /**
+     * The number of times a waiting thread checks its condition before
+     * parking.
+     */
+    private static final int SPIN_TRIES = 128;
+
+    /**
+     * The number of nanoseconds a waiting thread parks for at a time.
+     */
+    private static final long PARK_NANOS = 50_000L;
+
+    /**
+     * The default maximum number of elements in a batch.
+     */
+    private static final int DEFAULT_MAX_BATCH = 1024;
+
+    /**
+     * The ring shared by the producer and all the stages.
+     */
+    private final E[] ring;
+
+    /**
+     * The factory creating the stage threads.
+     */
+    private final ThreadFactory threadFactory;
+
+    /**
+     * The maximum number of elements handed to a stage at a time.
+     */
+    private final int maxBatch;
+
+    /**
+     * The stages in pipeline order.
+     */
+    private final List<Stage> stages = new ArrayList<>();
+
+    /**
+     * The number of elements published so far. Written only by the producer,
+     * which caches the cursor of the last stage in <code>tail.cache</code>.
+     */
+    private final Sequence tail = new Sequence(0L);
+
+    /**
+     * The first exception thrown by a stage.
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Whether the pipeline has been started.
+     */
+    private boolean started;
+
+    /**
+     * Whether the producer has published its last element.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new pipeline over a ring of <code>capacity</code> elements,
+     * running its stages in daemon platform threads.
+     *
+     * @param capacity the capacity of the ring.
+     */
+    public SlicePipeline(final int capacity) {
+        this(capacity, DEFAULT_MAX_BATCH, SlicePipeline::newDaemonThread);
+    }
+
+    /**
+     * Constructs a new pipeline over a ring of <code>capacity</code> elements.
+     *
+     * @param capacity      the capacity of the ring.
+     * @param maxBatch      the maximum number of elements in a batch.
+     * @param threadFactory the factory creating the stage threads.
+     */
+    @SuppressWarnings("unchecked")
+    public SlicePipeline(final int capacity,
+                         final int maxBatch,
+                         final ThreadFactory threadFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "The capacity must be positive: " + capacity);
+        }
+
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException(
+                    "The maximum batch size must be positive: " + maxBatch);
+        }
+
+        if (threadFactory == null) {
+            throw new NullPointerException("Input thread factory is null.");
+        }
+
+        this.ring = (E[]) new Object[capacity];
+        this.maxBatch = maxBatch;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Returns the capacity of the ring.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Appends a stage to this pipeline. The stage receives the elements in
+     * publication order, after all the previously added stages have
+     * processed them.
+     *
+     * @param handler the handler processing the batches of the stage.
+     * @return this pipeline.
+     */
+    public SlicePipeline<E> addStage(final Consumer<? super Slice<E>> handler) {
+        if (handler == null) {
+            throw new NullPointerException("Input handler is null.");
+        }
+
+        if (started) {
+            throw new IllegalStateException(
+                    "Cannot add a stage to a started pipeline.");
+        }
+
+        final Sequence upstream = stages.isEmpty() ?
+                                  tail :
+                                  stages.get(stages.size() - 1).cursor;
+        stages.add(new Stage(stages.size(), upstream, handler));
+        return this;
+    }
+
+    /**
+     * Starts a thread for each stage of this pipeline.
+     *
+     * @return this pipeline.
+     */
+    public SlicePipeline<E> start() {
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("The pipeline has no stages.");
+        }
+
+        if (started) {
+            throw new IllegalStateException("The pipeline is already started.");
+        }
+
+        started = true;
+
+        for (final Stage stage : stages) {
+            stage.thread = threadFactory.newThread(stage);
+            stage.thread.start();
+        }
+
+        return this;
+    }
+
+    /**
+     * Publishes <code>element</code> to the first stage, waiting while the
+     * ring is full. Must be called from a single producer thread.
+     *
+     * @param element the element to publish.
+     */
+    public void publish(final E element) {
+        checkRunning();
+        final long t = tail.getPlain();
+
+        if (t - tail.cache >= ring.length) {
+            final Sequence last = stages.get(stages.size() - 1).cursor;
+            int tries = 0;
+
+            while (t - (tail.cache = last.getAcquire()) >= ring.length) {
+                checkFailure();
+                tries = idle(tries);
+            }
+        }
+
+        ring[index(t)] = element;
+        tail.setRelease(t + 1);
+    }
+
+    /**
+     * Publishes <code>length</code> elements of <code>src</code> starting at
+     * <code>srcPos</code>, waiting whenever the ring is full. The elements
+     * are copied into the ring with at most two calls to
+     * {@link System#arraycopy} per wait.
+     *
+     * @param src    the source array.
+     * @param srcPos the starting index in <code>src</code>.
+     * @param length the number of elements to publish.
+     */
+    public void publish(final E[] src, final int srcPos, final int length) {
+        if (src == null) {
+            throw new NullPointerException("Input array is null.");
+        }
+
+        if (srcPos < 0 || length < 0 || srcPos > src.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + srcPos + ", " + ((long) srcPos + length) +
+                    ") does not fit in an array of length " + src.length +
+                    ".");
+        }
+
+        checkRunning();
+        final Sequence last = stages.get(stages.size() - 1).cursor;
+        int done = 0;
+        int tries = 0;
+
+        while (done < length) {
+            final long t = tail.getPlain();
+            long free = ring.length - (t - tail.cache);
+
+            if (free == 0L) {
+                free = ring.length - (t - (tail.cache = last.getAcquire()));
+
+                if (free == 0L) {
+                    checkFailure();
+                    tries = idle(tries);
+                    continue;
+                }
+            }
+
+            final int n = (int) Math.min(free, length - done);
+            final int from = index(t);
+            final int head = Math.min(n, ring.length - from);
+            System.arraycopy(src, srcPos + done, ring, from, head);
+            System.arraycopy(src, srcPos + done + head, ring, 0, n - head);
+            tail.setRelease(t + n);
+            done += n;
+            tries = 0;
+        }
+    }
+
+    /**
+     * Signals that no more elements will be published, waits for all the
+     * stages to process the published elements and terminate, and releases
+     * the references to the elements held by the ring.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void close() throws InterruptedException {
+        closed = true;
+
+        for (final Stage stage : stages) {
+            if (stage.thread != null) {
+                stage.thread.join();
+            }
+        }
+
+        Arrays.fill(ring, null);
+        checkFailure();
+    }
+
+    /**
+     * Returns the number of elements processed by the stage with index
+     * <code>stageIndex</code>.
+     *
+     * @param stageIndex the index of the stage.
+     * @return the number of processed elements.
+     */
+    public long processed(final int stageIndex) {
+        if (stageIndex < 0 || stageIndex >= stages.size()) {
+            throw new IndexOutOfBoundsException(
+                    "The stage index is invalid: " + stageIndex + ". Should " +
+                    "be in range [0, " + (stages.size() - 1) + "].");
+        }
+
+        return stages.get(stageIndex).cursor.getAcquire();
+    }
+
+    /**
+     * Maps a sequence number to its ring index.
+     *
+     * @param sequence the sequence number.
+     * @return the ring index.
+     */
+    private int index(final long sequence) {
+        return (int) (sequence % ring.length);
+    }
+
+    /**
+     * Checks that the pipeline accepts elements.
+     */
+    private void checkRunning() {
+        if (!started) {
+            throw new IllegalStateException("The pipeline is not started.");
+        }
+
+        if (closed) {
+            throw new IllegalStateException("The pipeline is closed.");
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * Rethrows the failure of a stage, if any.
+     */
+    private void checkFailure() {
+        final Throwable cause = failure.get();
+
+        if (cause != null) {
+            throw new IllegalStateException("A pipeline stage failed.", cause);
+        }
+    }
+
+    /**
+     * Waits a little: spins for the first <code>SPIN_TRIES</code> tries and
+     * parks afterwards.
+     *
+     * @param tries the number of tries so far.
+     * @return the number of tries including this one.
+     */
+    private static int idle(final int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+
+        return tries + 1;
+    }
+
+    private static Thread newDaemonThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "slice-pipeline-stage");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * This class implements a stage: a cursor following the upstream cursor
+     * and a slice over the ring, reset to each batch in turn.
+     */
+    private final class Stage implements Runnable {
+
+        /**
+         * The index of this stage in the pipeline.
+         */
+        private final int stageIndex;
+
+        /**
+         * The cursor of the previous stage, or the tail of the producer.
+         */
+        private final Sequence upstream;
+
+        /**
+         * The number of elements this stage has processed. The stage caches
+         * the upstream cursor in <code>cursor.cache</code>.
+         */
+        private final Sequence cursor = new Sequence(0L);
+
+        /**
+         * The handler processing the batches.
+         */
+        private final Consumer<? super Slice<E>> handler;
+
+        /**
+         * The fixed-size slice handed to the handler.
+         */
+        private final Slice<E> batch = Slice.of(ring, 0, 0);
+
+        /**
+         * Whether this stage has processed its last element.
+         */
+        private volatile boolean finished;
+
+        /**
+         * The thread running this stage.
+         */
+        private Thread thread;
+
+        Stage(final int stageIndex,
+              final Sequence upstream,
+              final Consumer<? super Slice<E>> handler) {
+            this.stageIndex = stageIndex;
+            this.upstream = upstream;
+            this.handler = handler;
+            batch.markFixedSize();
+        }
+
+        @Override
+        public void run() {
+            try {
+                process();
+            } catch (final Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                finished = true;
+            }
+        }
+
+        /**
+         * Processes batches until the upstream is done and caught up with.
+         */
+        private void process() {
+            int tries = 0;
+
+            while (failure.get() == null) {
+                final long c = cursor.getPlain();
+
+                if (c >= cursor.cache) {
+                    // Read the done flag before the cursor, so that a done
+                    // upstream cursor is final.
+                    final boolean done = upstreamDone();
+                    cursor.cache = upstream.getAcquire();
+
+                    if (c >= cursor.cache) {
+                        if (done) {
+                            return;
+                        }
+
+                        tries = idle(tries);
+                        continue;
+                    }
+                }
+
+                final int n = (int) Math.min(cursor.cache - c, maxBatch);
+                // The previous batch ends where this one starts.
+                batch.moveImpl(batch.size());
+                batch.moveTailPointerImpl(n - batch.size());
+                handler.accept(batch);
+                cursor.setRelease(c + n);
+                tries = 0;
+            }
+        }
+
+        private boolean upstreamDone() {
+            return stageIndex == 0 ?
+                   closed :
+                   stages.get(stageIndex - 1).finished;
+        }
+    }
+}
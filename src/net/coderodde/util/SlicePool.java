@@ -0,0 +1,89 @@
+package net.coderodde.util;
+
+import java.util.ArrayDeque;
+
+/**
+ * This class implements a thread-local pool of {@link Slice} objects. A
+ * thread that creates many short-lived slices may {@link #acquire} a slice
+ * from its pool instead of allocating one, and {@link #release} it once done,
+ * after which the slice is re-pointed at the next range with
+ * {@link Slice#reset(Object[], int, int)}. Each thread keeps at most
+ * <code>MAX_POOLED_SLICES</code> released slices.
+ *
+ * <p>A released slice may not be used anymore, and must not be released
+ * twice. Since the pool is thread-local, a slice released by a thread other
+ * than the one that acquired it simply moves to the pool of the releasing
+ * thread.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+public final class SlicePool {
+
+    /**
+     * The maximum number of released slices kept by a thread.
+     */
+    public static final int MAX_POOLED_SLICES = 32;
+
+    /**
+     * The array released slices point at, so that they do not keep the
+     * arrays of their previous users reachable.
+     */
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    /**
+     * The released slices of each thread.
+     */
+    private static final ThreadLocal<ArrayDeque<Slice<Object>>> POOL =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SlicePool() {}
+
+    /**
+     * Returns a slice over <code>array</code> starting at
+     * <code>fromIndex</code> and ending at <code>toIndex - 1</code>, reusing
+     * a released slice of the calling thread if there is one.
+     *
+     * @param <E>       the array component type.
+     * @param array     the array being sliced.
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     * @return a slice.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Slice<E> acquire(final E[] array,
+                                       final int fromIndex,
+                                       final int toIndex) {
+        final Slice<E> slice = (Slice<E>) POOL.get().pollLast();
+
+        if (slice == null) {
+            return Slice.of(array, fromIndex, toIndex);
+        }
+
+        slice.reset(array, fromIndex, toIndex);
+        return slice;
+    }
+
+    /**
+     * Returns <code>slice</code> to the pool of the calling thread, unless the
+     * pool is full. The slice is detached from its array and its growable
+     * mode is turned off.
+     *
+     * @param slice the slice to release.
+     */
+    @SuppressWarnings("unchecked")
+    public static void release(final Slice<?> slice) {
+        if (slice == null) {
+            throw new NullPointerException("Input slice is null.");
+        }
+
+        final Slice<Object> s = (Slice<Object>) slice;
+        s.reset(EMPTY_ARRAY, 0, 0);
+        s.setGrowable(false);
+        final ArrayDeque<Slice<Object>> pool = POOL.get();
+
+        if (pool.size() < MAX_POOLED_SLICES) {
+            pool.addLast(s);
+        }
+    }
+}
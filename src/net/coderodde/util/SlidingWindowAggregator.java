@@ -0,0 +1,399 @@
+package net.coderodde.util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class maintains the count, sum, mean, minimum and maximum of the
+ * components of a {@link DoubleSlice} used as a sliding window. The window is
+ * moved through this aggregator, which updates the aggregates incrementally
+ * instead of scanning the whole slice after each step:
+ *
+ * <ul>
+ *   <li><code>move(delta)</code> with <code>0 &lt; delta &lt; size</code>
+ *       runs in <code>O(delta)</code> amortized time,</li>
+ *   <li><code>moveHeadPointer(delta)</code> runs in <code>O(|delta|)</code>
+ *       amortized time in both directions,</li>
+ *   <li><code>moveTailPointer(delta)</code> runs in <code>O(delta)</code>
+ *       amortized time for <code>delta &ge; 0</code>.</li>
+ * </ul>
+ *
+ * The sum is updated by adding the entering and subtracting the leaving
+ * components. The minimum and the maximum are kept in two monotonic deques
+ * that store only the components that may still become the extremum of the
+ * window. Since a component dropped from the back of the window may have
+ * evicted older components from the deques, contracting the tail, moving the
+ * window to the left or moving it by at least its size rebuilds the
+ * aggregates in <code>O(size)</code> time.
+ *
+ * <p>The slice must not be moved nor modified other than through this
+ * aggregator; otherwise, {@link #rebuild()} must be called before querying the
+ * aggregates again. The running sum accumulates rounding errors over long
+ * streams, which a call to {@link #rebuild()} discards.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.61
+ */
+public final class SlidingWindowAggregator {
+
+    /**
+     * The window.
+     */
+    private final DoubleSlice slice;
+
+    /**
+     * The deque of the candidates for the minimum.
+     */
+    private final MonotonicDeque minDeque = new MonotonicDeque(false);
+
+    /**
+     * The deque of the candidates for the maximum.
+     */
+    private final MonotonicDeque maxDeque = new MonotonicDeque(true);
+
+    /**
+     * The stream position of the first component of the window. The deques
+     * refer to the components by their stream positions, so that moving the
+     * window does not invalidate them.
+     */
+    private long head;
+
+    /**
+     * The sum of the components of the window.
+     */
+    private double sum;
+
+    /**
+     * Constructs an aggregator over the current components of
+     * <code>slice</code>.
+     *
+     * @param slice the window.
+     */
+    public SlidingWindowAggregator(final DoubleSlice slice) {
+        if (slice == null) {
+            throw new NullPointerException("Input slice is null.");
+        }
+
+        this.slice = slice;
+        rebuild();
+    }
+
+    /**
+     * Returns the window.
+     *
+     * @return the window.
+     */
+    public DoubleSlice slice() {
+        return slice;
+    }
+
+    /**
+     * Returns the number of components in the window.
+     *
+     * @return the count.
+     */
+    public int count() {
+        return slice.size();
+    }
+
+    /**
+     * Returns the sum of the components in the window.
+     *
+     * @return the sum.
+     */
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the arithmetic mean of the components in the window.
+     *
+     * @return the mean.
+     * @throws NoSuchElementException if the window is empty.
+     */
+    public double mean() {
+        checkNotEmpty();
+        return sum / slice.size();
+    }
+
+    /**
+     * Returns the smallest component in the window.
+     *
+     * @return the minimum.
+     * @throws NoSuchElementException if the window is empty.
+     */
+    public double min() {
+        checkNotEmpty();
+        return minDeque.frontValue();
+    }
+
+    /**
+     * Returns the largest component in the window.
+     *
+     * @return the maximum.
+     * @throws NoSuchElementException if the window is empty.
+     */
+    public double max() {
+        checkNotEmpty();
+        return maxDeque.frontValue();
+    }
+
+    /**
+     * Sets a new value at window index <code>index</code>. Updates the sum in
+     * constant time and rebuilds the deques.
+     *
+     * @param index the index of the component.
+     * @param value the new value.
+     */
+    public void set(final int index, final double value) {
+        final double old = slice.get(index);
+        slice.set(index, value);
+        sum += value - old;
+        rebuildDeques();
+    }
+
+    /**
+     * Moves the window as {@link DoubleSlice#move(int)} does and updates the
+     * aggregates.
+     *
+     * @param delta the movement delta.
+     */
+    public void move(final int delta) {
+        final int size = slice.size();
+
+        if (delta == 0) {
+            return;
+        }
+
+        if (delta < 0 || delta >= size) {
+            slice.move(delta);
+            rebuild();
+            return;
+        }
+
+        removeHead(delta);
+        slice.move(delta);
+        head += delta;
+        appendTail(size - delta, size);
+    }
+
+    /**
+     * Shifts the head of the window as {@link DoubleSlice#moveHeadPointer(int)}
+     * does and updates the aggregates.
+     *
+     * @param delta the shift delta.
+     */
+    public void moveHeadPointer(final int delta) {
+        if (delta >= 0) {
+            final int amount = Math.min(delta, slice.size());
+            removeHead(amount);
+            slice.moveHeadPointer(amount);
+            head += amount;
+            return;
+        }
+
+        final int oldSize = slice.size();
+        slice.moveHeadPointer(delta);
+        final int amount = slice.size() - oldSize;
+        head -= amount;
+
+        // Prepend from the newest to the oldest entering component.
+        for (int i = amount - 1; i >= 0; --i) {
+            final double value = slice.get(i);
+            sum += value;
+            minDeque.pushFront(head + i, value);
+            maxDeque.pushFront(head + i, value);
+        }
+    }
+
+    /**
+     * Shifts the tail of the window as {@link DoubleSlice#moveTailPointer(int)}
+     * does and updates the aggregates.
+     *
+     * @param delta the shift delta.
+     */
+    public void moveTailPointer(final int delta) {
+        final int oldSize = slice.size();
+        slice.moveTailPointer(delta);
+        final int newSize = slice.size();
+
+        if (newSize >= oldSize) {
+            appendTail(oldSize, newSize);
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes all the aggregates from the components of the window in
+     * <code>O(size)</code> time.
+     */
+    public void rebuild() {
+        sum = slice.sum();
+        rebuildDeques();
+    }
+
+    /**
+     * Refills the deques from the components of the window.
+     */
+    private void rebuildDeques() {
+        minDeque.clear();
+        maxDeque.clear();
+
+        for (int i = 0; i < slice.size(); ++i) {
+            final double value = slice.get(i);
+            minDeque.pushBack(head + i, value);
+            maxDeque.pushBack(head + i, value);
+        }
+    }
+
+    /**
+     * Adds the window components with indices from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive) to the aggregates.
+     *
+     * @param fromIndex the starting (inclusive) window index.
+     * @param toIndex   the ending (exclusive) window index.
+     */
+    private void appendTail(final int fromIndex, final int toIndex) {
+        for (int i = fromIndex; i < toIndex; ++i) {
+            final double value = slice.get(i);
+            sum += value;
+            minDeque.pushBack(head + i, value);
+            maxDeque.pushBack(head + i, value);
+        }
+    }
+
+    /**
+     * Removes the first <code>amount</code> window components from the
+     * aggregates. The window itself is left intact.
+     *
+     * @param amount the number of components to remove.
+     */
+    private void removeHead(final int amount) {
+        for (int i = 0; i < amount; ++i) {
+            sum -= slice.get(i);
+        }
+
+        minDeque.popFrontBefore(head + amount);
+        maxDeque.popFrontBefore(head + amount);
+    }
+
+    /**
+     * Checks that the window is not empty.
+     */
+    private void checkNotEmpty() {
+        if (slice.isEmpty()) {
+            throw new NoSuchElementException("The window is empty.");
+        }
+    }
+
+    /**
+     * This class implements a deque of (position, value) pairs, in which the
+     * positions increase and the values strictly decrease (for the maximum)
+     * or strictly increase (for the minimum) from the front to the back. The
+     * front holds the extremum of the window.
+     */
+    private static final class MonotonicDeque {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        /**
+         * Whether the deque tracks the maximum instead of the minimum.
+         */
+        private final boolean max;
+
+        private long[] positions = new long[INITIAL_CAPACITY];
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        /**
+         * The array index of the front of the deque.
+         */
+        private int front;
+
+        /**
+         * The number of pairs in the deque.
+         */
+        private int size;
+
+        MonotonicDeque(boolean max) {
+            this.max = max;
+        }
+
+        double frontValue() {
+            return values[front];
+        }
+
+        void clear() {
+            size = 0;
+            front = 0;
+        }
+
+        /**
+         * Appends a component newer than all the components in the deque,
+         * first dropping the components it dominates.
+         */
+        void pushBack(final long position, final double value) {
+            while (size > 0 && dominates(value, values[index(size - 1)])) {
+                --size;
+            }
+
+            ensureCapacity();
+            final int i = index(size++);
+            positions[i] = position;
+            values[i] = value;
+        }
+
+        /**
+         * Prepends a component older than all the components in the deque.
+         * Such a component cannot evict newer ones, and is itself dropped if
+         * the current front dominates it.
+         */
+        void pushFront(final long position, final double value) {
+            if (size > 0 && dominates(values[front], value)) {
+                return;
+            }
+
+            ensureCapacity();
+            front = (front - 1) & (positions.length - 1);
+            positions[front] = position;
+            values[front] = value;
+            ++size;
+        }
+
+        /**
+         * Removes the components with positions less than
+         * <code>position</code>.
+         */
+        void popFrontBefore(final long position) {
+            while (size > 0 && positions[front] < position) {
+                front = index(1);
+                --size;
+            }
+        }
+
+        private boolean dominates(final double a, final double b) {
+            return max ? a >= b : a <= b;
+        }
+
+        private int index(final int offset) {
+            return (front + offset) & (positions.length - 1);
+        }
+
+        private void ensureCapacity() {
+            if (size < positions.length) {
+                return;
+            }
+
+            final long[] newPositions = new long[positions.length << 1];
+            final double[] newValues = new double[values.length << 1];
+
+            for (int i = 0; i < size; ++i) {
+                newPositions[i] = positions[index(i)];
+                newValues[i] = values[index(i)];
+            }
+
+            positions = newPositions;
+            values = newValues;
+            front = 0;
+        }
+    }
+}
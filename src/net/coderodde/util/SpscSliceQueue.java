@@ -0,0 +1,285 @@
+package net.coderodde.util;
+
+import java.util.function.Consumer;
+
+/**
+ * This class implements a lock-free, bounded, cyclic queue for exactly one
+ * producer thread and exactly one consumer thread. Conceptually, the queue is
+ * a {@link Slice} over its backing array: enqueueing shifts the tail pointer
+ * of the slice to the right and dequeueing shifts the head pointer to the
+ * right. Instead of the plain <code>fromIndex</code> and <code>size</code> of
+ * a slice, however, the head and the tail are two monotonically growing
+ * sequence counters, each padded to a cache line of its own and published
+ * with release/acquire ordering.
+ *
+ * <p>Each side caches the last value it has read from the other side and
+ * only rereads the other counter when the cached value says the queue is
+ * full (for the producer) or empty (for the consumer). The batch methods
+ * {@link #offer(Object[], int, int)} and {@link #drain(Consumer, int)}
+ * publish the whole batch with a single release store.
+ *
+ * <p>The queue does not accept <code>null</code> elements.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the element type.
+ * @version 1.61
+ */
+public final class SpscSliceQueue<E> {
+
+    /**
+     * The backing array.
+     */
+    private final Object[] array;
+
+    /**
+     * The sequence number of the next element to dequeue. Written only by
+     * the consumer, which caches the tail sequence in <code>head.cache</code>
+     * and keeps the array index of the head in <code>head.index</code>.
+     */
+    private final Sequence head = new Sequence(0L);
+
+    /**
+     * The sequence number of the next element to enqueue. Written only by
+     * the producer, which caches the head sequence in <code>tail.cache</code>
+     * and keeps the array index of the tail in <code>tail.index</code>.
+     */
+    private final Sequence tail = new Sequence(0L);
+
+    /**
+     * Constructs a new queue holding at most <code>capacity</code> elements.
+     *
+     * @param capacity the capacity of the queue.
+     */
+    public SpscSliceQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                    "The capacity must be positive: " + capacity);
+        }
+
+        this.array = new Object[capacity];
+    }
+
+    /**
+     * Returns the maximum number of elements this queue can hold.
+     *
+     * @return the capacity.
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Returns the number of elements in this queue. The value is exact only
+     * when neither the producer nor the consumer is active.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        final long h = head.getAcquire();
+        final long t = tail.getAcquire();
+        return (int) Math.max(0L, Math.min(t - h, array.length));
+    }
+
+    /**
+     * Returns <code>true</code> if this queue appears empty.
+     *
+     * @return a boolean value.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Enqueues <code>element</code>. May be called by the producer thread
+     * only.
+     *
+     * @param element the element to enqueue.
+     * @return <code>true</code> if the element was enqueued,
+     *         <code>false</code> if the queue is full.
+     */
+    public boolean offer(E element) {
+        checkElement(element);
+        final long t = tail.getPlain();
+
+        if (t - tail.cache >= array.length) {
+            tail.cache = head.getAcquire();
+
+            if (t - tail.cache >= array.length) {
+                return false;
+            }
+        }
+
+        final int i = tail.index;
+        array[i] = element;
+        tail.index = advance(i, 1);
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    /**
+     * Enqueues as many of the <code>length</code> elements of
+     * <code>source</code> starting at <code>offset</code> as fit in this
+     * queue and publishes them all at once. May be called by the producer
+     * thread only.
+     *
+     * @param source the array of elements to enqueue.
+     * @param offset the index of the first element in <code>source</code>.
+     * @param length the number of elements to enqueue.
+     * @return the number of elements enqueued.
+     */
+    public int offer(E[] source, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > source.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + offset + ", " + ((long) offset + length) +
+                    ") does not fit in an array of length " + source.length +
+                    ".");
+        }
+
+        for (int i = offset; i < offset + length; ++i) {
+            checkElement(source[i]);
+        }
+
+        final long t = tail.getPlain();
+        long free = array.length - (t - tail.cache);
+
+        if (free < length) {
+            tail.cache = head.getAcquire();
+            free = array.length - (t - tail.cache);
+        }
+
+        final int n = (int) Math.min(free, length);
+
+        if (n == 0) {
+            return 0;
+        }
+
+        final int i = tail.index;
+        final int headLength = Math.min(n, array.length - i);
+        System.arraycopy(source, offset, array, i, headLength);
+        System.arraycopy(source, offset + headLength, array, 0, n - headLength);
+        tail.index = advance(i, n);
+        tail.setRelease(t + n);
+        return n;
+    }
+
+    /**
+     * Dequeues the oldest element. May be called by the consumer thread only.
+     *
+     * @return the oldest element or <code>null</code> if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        final long h = head.getPlain();
+
+        if (h >= head.cache) {
+            head.cache = tail.getAcquire();
+
+            if (h >= head.cache) {
+                return null;
+            }
+        }
+
+        final int i = head.index;
+        final E element = (E) array[i];
+        array[i] = null;
+        head.index = advance(i, 1);
+        head.setRelease(h + 1);
+        return element;
+    }
+
+    /**
+     * Returns the oldest element without dequeueing it. May be called by the
+     * consumer thread only.
+     *
+     * @return the oldest element or <code>null</code> if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        final long h = head.getPlain();
+
+        if (h >= head.cache) {
+            head.cache = tail.getAcquire();
+
+            if (h >= head.cache) {
+                return null;
+            }
+        }
+
+        return (E) array[head.index];
+    }
+
+    /**
+     * Dequeues at most <code>maxElements</code> elements, passes them to
+     * <code>consumer</code> in order and releases their slots to the
+     * producer at once. If <code>consumer</code> throws, the elements passed
+     * to it so far, including the one it threw on, are dequeued and the rest
+     * stay in this queue. Unlike {@link MpmcSliceSequencer#drain(Consumer, 
+     * int)}, which has to discard the rest of its claimed run, no element is
+     * lost, since no other consumer can have claimed the elements after the
+     * failure point. May be called by the consumer thread only.
+     *
+     * @param consumer    the consumer of the elements.
+     * @param maxElements the maximum number of elements to dequeue.
+     * @return the number of elements dequeued.
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int maxElements) {
+        if (consumer == null) {
+            throw new NullPointerException("Consumer is null.");
+        }
+
+        final long h = head.getPlain();
+        head.cache = tail.getAcquire();
+        final int n = (int) Math.min(head.cache - h, Math.max(maxElements, 0));
+
+        if (n == 0) {
+            return 0;
+        }
+
+        int i = head.index;
+        int consumed = 0;
+
+        try {
+            while (consumed < n) {
+                final E element = (E) array[i];
+                array[i] = null;
+                i = advance(i, 1);
+                ++consumed;
+                consumer.accept(element);
+            }
+        } finally {
+            // Release the cleared slots even if the consumer threw, so that
+            // no cleared slot is left between the head and the tail.
+            head.index = i;
+            head.setRelease(h + consumed);
+        }
+
+        return n;
+    }
+
+    /**
+     * Returns the array index <code>steps</code> positions after
+     * <code>index</code>, wrapping around the end of the backing array with
+     * a conditional subtraction instead of a division.
+     *
+     * @param index the array index.
+     * @param steps the number of positions, at most the capacity.
+     * @return the advanced array index.
+     */
+    private int advance(int index, int steps) {
+        return index < array.length - steps ?
+               index + steps :
+               index - (array.length - steps);
+    }
+
+    /**
+     * Checks that <code>element</code> is not <code>null</code>.
+     *
+     * @param element the element to check.
+     */
+    private static void checkElement(Object element) {
+        if (element == null) {
+            throw new NullPointerException("Null elements are not allowed.");
+        }
+    }
+}
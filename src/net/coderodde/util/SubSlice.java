@@ -0,0 +1,369 @@
+package net.coderodde.util;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a zero-copy view of a contiguous range of a
+ * {@link Slice}. The view does not copy any components: its index
+ * <code>i</code> refers to the index <code>offset + i</code> of the parent
+ * slice, which in turn is mapped through the current starting index of the
+ * parent. Hence, moving the parent moves the view along with it. Each access
+ * checks that the view still fits in the parent, so that shrinking the parent
+ * below the view is detected instead of reading stale components. Inserting
+ * or removing components through the view inserts or removes them in the
+ * parent, and resizes the view and the views it was taken from, as
+ * {@link AbstractList#subList(int, int)} does.
+ *
+ * @author Rodion "rodde" Efremov
+ * @param <E> the actual array component type.
+ * @version 1.61
+ */
+public final class SubSlice<E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * The slice this view maps to.
+     */
+    private final Slice<E> parent;
+
+    /**
+     * The parent index of the first component of this view.
+     */
+    private final int offset;
+
+    /**
+     * The view this view was taken from, or <code>null</code> if this view
+     * was taken from the parent slice directly.
+     */
+    private final SubSlice<E> outer;
+
+    /**
+     * The size of this view.
+     */
+    private int size;
+
+    /**
+     * Constructs a new view. The caller is responsible for checking the
+     * range.
+     *
+     * @param parent the parent slice.
+     * @param offset the parent index of the first component.
+     * @param size   the number of components in the view.
+     */
+    SubSlice(Slice<E> parent, int offset, int size) {
+        this(parent, null, offset, size);
+    }
+
+    /**
+     * Constructs a new view. The caller is responsible for checking the
+     * range.
+     *
+     * @param parent the parent slice.
+     * @param outer  the view this view is taken from, or <code>null</code>.
+     * @param offset the parent index of the first component.
+     * @param size   the number of components in the view.
+     */
+    private SubSlice(Slice<E> parent,
+                     SubSlice<E> outer,
+                     int offset,
+                     int size) {
+        this.parent = parent;
+        this.outer = outer;
+        this.offset = offset;
+        this.size = size;
+        this.modCount = parent.modCount();
+    }
+
+    /**
+     * Returns <code>true</code> if this view is empty.
+     *
+     * @return a boolean value.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of this view.
+     *
+     * @return the size.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Accesses a component of this view.
+     *
+     * @param index the index of the component.
+     * @return the component.
+     */
+    @Override
+    public E get(final int index) {
+        checkAccessIndex(index);
+        return parent.getImpl(offset + index);
+    }
+
+    /**
+     * Sets a new value at view index <code>index</code>.
+     *
+     * @param index the index of the component.
+     * @param value the new value.
+     * @return the previous value.
+     */
+    @Override
+    public E set(final int index, final E value) {
+        checkAccessIndex(index);
+        final E old = parent.getImpl(offset + index);
+        parent.setImpl(offset + index, value);
+        return old;
+    }
+
+    /**
+     * Inserts <code>element</code> at view index <code>index</code> by
+     * inserting it in the parent slice.
+     *
+     * @param index   the insertion index.
+     * @param element the element to insert.
+     */
+    @Override
+    public void add(final int index, final E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(
+                    "The insertion index is invalid: " + index + ". Should " +
+                    "be in range [0, " + size + "].");
+        }
+
+        checkParent();
+        parent.add(offset + index, element);
+        resized(1);
+    }
+
+    /**
+     * Removes the component at view index <code>index</code> by removing it
+     * from the parent slice.
+     *
+     * @param index the index of the component to remove.
+     * @return the removed component.
+     */
+    @Override
+    public E remove(final int index) {
+        checkAccessIndex(index);
+        final E element = parent.remove(offset + index);
+        resized(-1);
+        return element;
+    }
+
+    /**
+     * Removes the components with view indices from <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive) by removing them from
+     * the parent slice in one go.
+     *
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        checkParent();
+        parent.removeRange(offset + fromIndex, offset + toIndex);
+        resized(fromIndex - toIndex);
+    }
+
+    /**
+     * Returns a view of the components of this view with indices from
+     * <code>fromIndex</code> (inclusive) to <code>toIndex</code> (exclusive).
+     * The returned view maps directly to the parent slice of this view.
+     *
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     * @return a view.
+     */
+    public SubSlice<E> subSlice(final int fromIndex, final int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(
+                    "fromIndex (" + fromIndex + ") is larger than toIndex (" +
+                    toIndex + ").");
+        }
+
+        if (fromIndex < 0 || toIndex > size) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + fromIndex + ", " + toIndex + ") is " +
+                    "invalid. Should be within [0, " + size + "].");
+        }
+
+        return new SubSlice<>(parent,
+                              this,
+                              offset + fromIndex,
+                              toIndex - fromIndex);
+    }
+
+    /**
+     * Returns a view of the components of this view with indices from
+     * <code>fromIndex</code> (inclusive) to <code>toIndex</code> (exclusive),
+     * as {@link #subSlice(int, int)} does.
+     *
+     * @param fromIndex the starting (inclusive) index.
+     * @param toIndex   the ending (exclusive) index.
+     * @return a view.
+     */
+    @Override
+    public SubSlice<E> subList(final int fromIndex, final int toIndex) {
+        return subSlice(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a new <code>Object</code> array holding the components of this
+     * view in order, as required by {@link java.util.Collection#toArray()}.
+     *
+     * @return an array of length <code>size()</code>.
+     */
+    @Override
+    public Object[] toArray() {
+        checkParent();
+        final Object[] result = new Object[size];
+        parent.copyRangeTo(offset, size, result, 0);
+        return result;
+    }
+
+    /**
+     * Returns a new array holding the components of this view in order. The
+     * runtime component type of the returned array is the component type of
+     * the array sliced by the parent.
+     *
+     * @return an array of length <code>size()</code>.
+     */
+    public E[] toTypedArray() {
+        checkParent();
+        final E[] result = parent.newArray(size);
+        parent.copyRangeTo(offset, size, result, 0);
+        return result;
+    }
+
+    /**
+     * Copies the components of this view to <code>dest</code> starting at
+     * <code>destPos</code> with at most two calls to
+     * {@link System#arraycopy}.
+     *
+     * @param dest    the destination array.
+     * @param destPos the starting index in <code>dest</code>.
+     */
+    public void copyTo(final E[] dest, final int destPos) {
+        if (dest == null) {
+            throw new NullPointerException("Input array is null.");
+        }
+
+        if (destPos < 0 || destPos > dest.length - size) {
+            throw new IndexOutOfBoundsException(
+                    "The range [" + destPos + ", " + ((long) destPos + size) +
+                    ") does not fit in an array of length " + dest.length +
+                    ".");
+        }
+
+        checkParent();
+        parent.copyRangeTo(offset, size, dest, destPos);
+    }
+
+    /**
+     * Applies <code>action</code> to each component of this view in order.
+     *
+     * @param action the action to apply.
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        checkParent();
+        parent.forEachImpl(offset, offset + size, action);
+    }
+
+    /**
+     * Returns the iterator over this view.
+     *
+     * @return the iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException("Iterator exceeded.");
+                }
+
+                return get(index++);
+            }
+        };
+    }
+
+    /**
+     * Returns the textual representation of this view.
+     *
+     * @return a string.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        int left = size;
+
+        for (final E element : this) {
+            sb.append(element);
+
+            if (--left > 0) {
+                sb.append(' ');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Adjusts the size of this view and of the views it was taken from after
+     * a structural modification of the parent through this view.
+     *
+     * @param delta the change in size.
+     */
+    private void resized(final int delta) {
+        for (SubSlice<E> view = this; view != null; view = view.outer) {
+            view.size += delta;
+            view.modCount = parent.modCount();
+        }
+    }
+
+    /**
+     * Checks the access index and that this view still fits in its parent.
+     *
+     * @param index the index to check.
+     */
+    private void checkAccessIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "The input index is invalid: " + index + ". Should be " +
+                    "in range [0, " + (size - 1) + "].");
+        }
+
+        checkParent();
+    }
+
+    /**
+     * Checks that this view still fits in its parent.
+     */
+    private void checkParent() {
+        if (offset + size > parent.size()) {
+            throw new IndexOutOfBoundsException(
+                    "The view [" + offset + ", " + (offset + size) + ") no " +
+                    "longer fits in its parent of size " + parent.size() +
+                    ".");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.Before;
+
+public class ByteSliceTest {
+
+    private static final int SIZE = 20;
+
+    private byte[] array;
+    private ByteSlice s;
+
+    @Before
+    public void init() {
+        array = new byte[SIZE];
+
+        for (int i = 0; i < SIZE; ++i) {
+            array[i] = (byte) (i * 10 - 100); // -100, -90, ..., 90
+        }
+    }
+
+    @Test
+    public void testGetAndSetWrapped() {
+        s = ByteSlice.create()
+                     .withArray(array)
+                     .startingFrom(array.length - 2)
+                     .until(2); // 80, 90, -100, -90
+
+        is(s, 80, 90, -100, -90);
+        s.set(2, Byte.MIN_VALUE);
+        assertEquals(Byte.MIN_VALUE, array[0]);
+    }
+
+    @Test
+    public void testReverseAndRotate() {
+        s = ByteSlice.create()
+                     .withArray(array)
+                     .startingFrom(array.length - 2)
+                     .until(2); // 80, 90, -100, -90
+
+        s.reverse();
+        is(s, -90, -100, 90, 80);
+        s.rotate(-1);
+        is(s, -100, 90, 80, -90);
+        s.rotate(3);
+        is(s, 90, 80, -90, -100);
+    }
+
+    @Test
+    public void testReductionsWiden() {
+        s = ByteSlice.create()
+                     .withArray(array)
+                     .startingFrom(array.length - 3)
+                     .until(3); // 70, 80, 90, -100, -90, -80
+
+        assertEquals(-30L, s.sum());
+        assertEquals(-100, s.min());
+        assertEquals(90, s.max());
+
+        s.set(3, Byte.MAX_VALUE);
+        s.set(4, Byte.MAX_VALUE);
+        s.set(5, Byte.MAX_VALUE);
+        // Exceeds the byte range.
+        assertEquals(240L + 3 * 127L, s.sum());
+        assertEquals(127, s.max());
+
+        s.set(0, Byte.MIN_VALUE);
+        assertEquals(-128, s.min());
+        assertEquals(0, s.indexOf(Byte.MIN_VALUE));
+        assertTrue(s.contains((byte) 90));
+        assertFalse(s.contains((byte) -100));
+    }
+
+    @Test
+    public void testSort() {
+        final Random random = new Random(11L);
+
+        for (int fromIndex = 0; fromIndex < SIZE; ++fromIndex) {
+            for (int toIndex = 0; toIndex < SIZE; ++toIndex) {
+                random.nextBytes(array);
+                final byte[] copy = array.clone();
+                s = ByteSlice.create()
+                             .withArray(array)
+                             .startingFrom(fromIndex)
+                             .until(toIndex);
+                final byte[] expected = s.toArray();
+                Arrays.sort(expected);
+                s.sort();
+                assertArrayEquals(expected, s.toArray());
+
+                // The components outside of the slice stay intact.
+                for (int i = s.size(); i < SIZE; ++i) {
+                    final int index = (fromIndex + i) % SIZE;
+                    assertEquals(copy[index], array[index]);
+                }
+            }
+        }
+    }
+
+    private static void is(final ByteSlice s, final int... bytes) {
+        assertEquals(bytes.length, s.size());
+
+        int index = 0;
+        final Iterator<Byte> it = s.iterator();
+
+        while (it.hasNext()) {
+            assertEquals((byte) bytes[index++], it.next().byteValue());
+        }
+
+        for (index = 0; index < s.size(); ++index) {
+            assertEquals((byte) bytes[index], s.get(index));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.Before;
+
+public class DoubleSliceTest {
+
+    private static final int SIZE = 20;
+
+    private double[] array;
+    private DoubleSlice s;
+
+    @Before
+    public void init() {
+        array = new double[SIZE];
+
+        for (int i = 0; i < SIZE; ++i) {
+            array[i] = i + 0.5;
+        }
+    }
+
+    @Test
+    public void testGetAndSetWrapped() {
+        s = DoubleSlice.create()
+                       .withArray(array)
+                       .startingFrom(array.length - 2)
+                       .until(2); // 18.5, 19.5, 0.5, 1.5
+
+        is(s, 18.5, 19.5, 0.5, 1.5);
+        s.set(2, -1.25);
+        assertEquals(-1.25, array[0], 0.0);
+    }
+
+    @Test
+    public void testReverseAndRotate() {
+        s = DoubleSlice.create()
+                       .withArray(array)
+                       .startingFrom(array.length - 2)
+                       .until(2); // 18.5, 19.5, 0.5, 1.5
+
+        s.reverse();
+        is(s, 1.5, 0.5, 19.5, 18.5);
+        s.rotate(-1);
+        is(s, 0.5, 19.5, 18.5, 1.5);
+        s.rotate(3);
+        is(s, 19.5, 18.5, 1.5, 0.5);
+    }
+
+    @Test
+    public void testReductions() {
+        s = DoubleSlice.create()
+                       .withArray(array)
+                       .startingFrom(array.length - 3)
+                       .until(3); // 17.5, 18.5, 19.5, 0.5, 1.5, 2.5
+
+        assertEquals(60.0, s.sum(), 0.0);
+        assertEquals(0.5, s.min(), 0.0);
+        assertEquals(19.5, s.max(), 0.0);
+
+        s.set(0, 0.1);
+        s.set(1, 0.2);
+        s.set(2, -0.3);
+        s.set(3, 0.0);
+        s.set(4, 0.0);
+        s.set(5, 0.0);
+        // Added in slice order, not reassociated.
+        assertEquals(0.1 + 0.2 + -0.3, s.sum(), 0.0);
+
+        s.set(4, Double.NaN);
+        assertTrue(Double.isNaN(s.min()));
+        assertTrue(Double.isNaN(s.max()));
+        assertTrue(Double.isNaN(s.sum()));
+    }
+
+    @Test
+    public void testIndexOfComparesBits() {
+        s = DoubleSlice.create()
+                       .withArray(array)
+                       .startingFrom(array.length - 2)
+                       .until(2); // 18.5, 19.5, 0.5, 1.5
+
+        s.set(1, Double.NaN);
+        s.set(3, -0.0);
+
+        assertEquals(1, s.indexOf(Double.NaN));
+        assertTrue(s.contains(Double.NaN));
+        assertEquals(3, s.indexOf(-0.0));
+        assertEquals(-1, s.indexOf(0.0));
+        assertFalse(s.contains(0.0));
+    }
+
+    @Test
+    public void testSort() {
+        final Random random = new Random(9L);
+        final double[] specials = { Double.NaN, -0.0, 0.0, 1.0, -1.0 };
+
+        for (int fromIndex = 0; fromIndex < SIZE; ++fromIndex) {
+            for (int toIndex = 0; toIndex < SIZE; ++toIndex) {
+                for (int i = 0; i < SIZE; ++i) {
+                    array[i] = specials[random.nextInt(specials.length)];
+                }
+
+                final double[] copy = array.clone();
+                s = DoubleSlice.create()
+                               .withArray(array)
+                               .startingFrom(fromIndex)
+                               .until(toIndex);
+                final double[] expected = s.toArray();
+                Arrays.sort(expected);
+                s.sort();
+                // Compares bits: -0.0 sorts before 0.0 and NaN goes last.
+                assertArrayEquals(expected, s.toArray(), 0.0);
+                assertTrue(Arrays.equals(expected, s.toArray()));
+
+                // The components outside of the slice stay intact.
+                for (int i = s.size(); i < SIZE; ++i) {
+                    final int index = (fromIndex + i) % SIZE;
+                    assertEquals(Double.doubleToLongBits(copy[index]),
+                                 Double.doubleToLongBits(array[index]));
+                }
+            }
+        }
+    }
+
+    private static void is(final DoubleSlice s, final double... doubles) {
+        assertEquals(doubles.length, s.size());
+
+        int index = 0;
+        final PrimitiveIterator.OfDouble it = s.iterator();
+
+        while (it.hasNext()) {
+            assertEquals(doubles[index++], it.nextDouble(), 0.0);
+        }
+
+        for (index = 0; index < s.size(); ++index) {
+            assertEquals(doubles[index], s.get(index), 0.0);
+        }
+    }
+}
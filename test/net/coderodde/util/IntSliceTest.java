@@ -0,0 +1,224 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.Before;
+
+public class IntSliceTest {
+
+    private static final int SIZE = 20;
+
+    private int[] array;
+    private IntSlice s;
+
+    @Before
+    public void init() {
+        array = new int[SIZE];
+
+        for (int i = 0; i < SIZE; ++i) {
+            array[i] = i;
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        s = IntSlice.create()
+                    .withArray(array)
+                    .startingFrom(array.length - 2)
+                    .until(3); // 18, 19, 0, 1, 2
+
+        PrimitiveIterator.OfInt it = s.iterator();
+
+        assertEquals(18, it.nextInt());
+        assertEquals(19, it.nextInt());
+        assertEquals(0, it.nextInt());
+        assertEquals(1, it.nextInt());
+        assertEquals(2, it.nextInt());
+        assertFalse(it.hasNext());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testThrowsOnNullArray() {
+        IntSlice.create().withArray(null).all();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetThrowsOnLargeIndex() {
+        IntSlice.create().withArray(array).all().get(array.length);
+    }
+
+    @Test
+    public void testMoveAndPointers() {
+        s = IntSlice.create()
+                    .withArray(array)
+                    .startingFrom(3)
+                    .until(6); // 3, 4, 5
+
+        is(s, 3, 4, 5);
+        s.move(-4);
+        is(s, 19, 0, 1);
+        s.moveHeadPointer(-2);
+        is(s, 17, 18, 19, 0, 1);
+        s.moveTailPointer(-3);
+        is(s, 17, 18);
+        s.moveHeadPointer(5);
+        is(s);
+        assertTrue(s.isEmpty());
+    }
+
+    @Test
+    public void testReverseAndRotate() {
+        s = IntSlice.create()
+                    .withArray(array)
+                    .startingFrom(array.length - 2)
+                    .until(2); // 18, 19, 0, 1
+
+        s.reverse();
+        is(s, 1, 0, 19, 18);
+        s.rotate(-1);
+        is(s, 0, 19, 18, 1);
+        s.rotate(3);
+        is(s, 19, 18, 1, 0);
+        s.set(0, 100);
+        assertEquals(100, array[18]);
+    }
+
+    @Test
+    public void testBulkOperations() {
+        s = IntSlice.create()
+                    .withArray(array)
+                    .startingFrom(array.length - 3)
+                    .until(3); // 17, 18, 19, 0, 1, 2
+
+        assertEquals(57L, s.sum());
+        assertEquals(0, s.min());
+        assertEquals(19, s.max());
+        assertEquals(1, s.indexOf(18));
+        assertEquals(4, s.indexOf(1));
+        assertEquals(-1, s.indexOf(5));
+        assertTrue(s.contains(2));
+        assertFalse(s.contains(16));
+
+        final int[] other = new int[]{ 0, 1, 2, -1, 17, 18, 19 };
+        final IntSlice t = IntSlice.create()
+                                   .withArray(other)
+                                   .startingFrom(4)
+                                   .until(3);
+        assertTrue(s.contentEquals(t));
+        assertEquals(-1, s.mismatch(t));
+        other[1] = 100;
+        assertEquals(4, s.mismatch(t));
+        assertFalse(s.contentEquals(t));
+        t.moveTailPointer(-2);
+        other[1] = 1;
+        assertEquals(4, s.mismatch(t));
+
+        s.fill(7);
+        is(s, 7, 7, 7, 7, 7, 7);
+        assertEquals(3, array[3]);
+        assertEquals(16, array[16]);
+    }
+
+    @Test(expected = java.util.NoSuchElementException.class)
+    public void testMinThrowsOnEmptySlice() {
+        IntSlice.create().withArray(array).startingFrom(5).until(5).min();
+    }
+
+    @Test
+    public void testMinMaxStartingAtArrayEnd() {
+        s = IntSlice.create()
+                    .withArray(array)
+                    .startingFrom(array.length)
+                    .until(array.length);
+
+        try {
+            s.max();
+            fail("An empty slice has no maximum.");
+        } catch (java.util.NoSuchElementException ex) {
+            // Expected.
+        }
+
+        s.moveTailPointer(3); // 0, 1, 2
+        assertEquals(0, s.min());
+        assertEquals(2, s.max());
+    }
+
+    @Test
+    public void testSort() {
+        final Random random = new Random(5L);
+
+        for (int fromIndex = 0; fromIndex < SIZE; ++fromIndex) {
+            for (int toIndex = 0; toIndex < SIZE; ++toIndex) {
+                for (int i = 0; i < SIZE; ++i) {
+                    array[i] = random.nextInt(10);
+                }
+
+                final int[] copy = array.clone();
+                s = IntSlice.create()
+                            .withArray(array)
+                            .startingFrom(fromIndex)
+                            .until(toIndex);
+                final int[] expected = s.toArray();
+                Arrays.sort(expected);
+
+                if (random.nextBoolean()) {
+                    s.sort();
+                } else {
+                    s.parallelSort();
+                }
+
+                assertArrayEquals(expected, s.toArray());
+
+                // The components outside of the slice stay intact.
+                for (int i = s.size(); i < SIZE; ++i) {
+                    final int index = (fromIndex + i) % SIZE;
+                    assertEquals(copy[index], array[index]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelReverseAndRotate() {
+        final int[] a = new int[300_000];
+
+        for (int i = 0; i < a.length; ++i) {
+            a[i] = i;
+        }
+
+        final int[] b = a.clone();
+        final IntSlice sequential = IntSlice.create()
+                                            .withArray(a)
+                                            .startingFrom(250_000)
+                                            .until(200_000);
+        final IntSlice parallel = IntSlice.create()
+                                          .withArray(b)
+                                          .startingFrom(250_000)
+                                          .until(200_000);
+        sequential.reverse();
+        parallel.parallelReverse();
+        assertArrayEquals(a, b);
+
+        sequential.rotate(-98_765);
+        parallel.parallelRotate(-98_765);
+        assertArrayEquals(a, b);
+    }
+
+    private static void is(final IntSlice s, final int... ints) {
+        assertEquals(ints.length, s.size());
+
+        int index = 0;
+        final PrimitiveIterator.OfInt it = s.iterator();
+
+        while (it.hasNext()) {
+            assertEquals(ints[index++], it.nextInt());
+        }
+
+        for (index = 0; index < s.size(); ++index) {
+            assertEquals(ints[index], s.get(index));
+        }
+    }
+}
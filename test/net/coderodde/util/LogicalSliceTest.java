@@ -0,0 +1,103 @@
+package net.coderodde.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LogicalSliceTest {
+
+    private static final int SIZE = 20;
+
+    private static Integer[] createArray() {
+        final Integer[] array = new Integer[SIZE];
+
+        for (int i = 0; i < SIZE; ++i) {
+            array[i] = i;
+        }
+
+        return array;
+    }
+
+    private static Slice<Integer> createSlice(Integer[] array) {
+        return Slice.<Integer>create()
+                    .withArray(array)
+                    .startingFrom(SIZE - 4)
+                    .until(5); // 16, ..., 19, 0, ..., 4
+    }
+
+    @Test
+    public void testAgainstEagerSlice() {
+        final Random random = new Random(13L);
+        final Slice<Integer> eager = createSlice(createArray());
+        final Slice<Integer> lazy = createSlice(createArray());
+        final LogicalSlice<Integer> view = lazy.logicalView();
+
+        for (int iteration = 0; iteration < 1000; ++iteration) {
+            if (random.nextBoolean()) {
+                eager.reverse();
+                view.reverse();
+            } else {
+                final int delta = random.nextInt(41) - 20;
+                eager.rotate(delta);
+                view.rotate(delta);
+            }
+
+            for (int i = 0; i < eager.size(); ++i) {
+                assertEquals(eager.get(i), view.get(i));
+            }
+
+            if (iteration % 100 == 0) {
+                view.materialize();
+                assertFalse(view.isPending());
+
+                for (int i = 0; i < eager.size(); ++i) {
+                    assertEquals(eager.get(i), lazy.get(i));
+                }
+            }
+        }
+
+        assertEquals(eager.toString(), view.toString());
+    }
+
+    @Test
+    public void testSet() {
+        final Integer[] array = createArray();
+        final LogicalSlice<Integer> view = createSlice(array).logicalView();
+        view.rotate(2);
+        view.reverse();
+        // 2, 1, 0, 19, 18, 17, 16, 4, 3
+        assertEquals(Integer.valueOf(2), view.get(0));
+        view.set(0, 100);
+        assertEquals(Integer.valueOf(100), array[2]);
+        assertEquals(Integer.valueOf(3), view.get(8));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetThrowsOnLargeIndex() {
+        final LogicalSlice<Integer> view =
+                createSlice(createArray()).logicalView();
+        view.rotate(3);
+        view.get(9);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testThrowsOnMoveWithPendingOperations() {
+        final Slice<Integer> slice = createSlice(createArray());
+        final LogicalSlice<Integer> view = slice.logicalView();
+        view.reverse();
+        slice.moveTailPointer(1);
+        view.get(0);
+    }
+
+    @Test
+    public void testMoveWithoutPendingOperations() {
+        final Slice<Integer> slice = createSlice(createArray());
+        final LogicalSlice<Integer> view = slice.logicalView();
+        view.reverse();
+        view.materialize();
+        slice.moveTailPointer(1);
+        assertEquals(Integer.valueOf(4), view.get(0));
+        assertEquals(Integer.valueOf(5), view.get(9));
+    }
+}
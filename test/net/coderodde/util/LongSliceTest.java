@@ -0,0 +1,123 @@
+package net.coderodde.util;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.Before;
+
+public class LongSliceTest {
+
+    private static final int SIZE = 20;
+    private static final long BIG = 3_000_000_000L;
+
+    private long[] array;
+    private LongSlice s;
+
+    @Before
+    public void init() {
+        array = new long[SIZE];
+
+        for (int i = 0; i < SIZE; ++i) {
+            array[i] = BIG + i;
+        }
+    }
+
+    @Test
+    public void testGetAndSetWrapped() {
+        s = LongSlice.create()
+                     .withArray(array)
+                     .startingFrom(array.length - 2)
+                     .until(2); // 18, 19, 0, 1
+
+        is(s, BIG + 18, BIG + 19, BIG, BIG + 1);
+        s.set(2, -1L);
+        assertEquals(-1L, array[0]);
+        s.set(1, Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, array[19]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetThrowsOnLargeIndex() {
+        LongSlice.create().withArray(array).all().get(array.length);
+    }
+
+    @Test
+    public void testReverseAndRotate() {
+        s = LongSlice.create()
+                     .withArray(array)
+                     .startingFrom(array.length - 2)
+                     .until(2); // 18, 19, 0, 1
+
+        s.reverse();
+        is(s, BIG + 1, BIG, BIG + 19, BIG + 18);
+        s.rotate(-1);
+        is(s, BIG, BIG + 19, BIG + 18, BIG + 1);
+        s.rotate(3);
+        is(s, BIG + 19, BIG + 18, BIG + 1, BIG);
+    }
+
+    @Test
+    public void testReductions() {
+        s = LongSlice.create()
+                     .withArray(array)
+                     .startingFrom(array.length - 3)
+                     .until(3); // 17, 18, 19, 0, 1, 2
+
+        // Overflows an int.
+        assertEquals(6 * BIG + 57L, s.sum());
+        assertEquals(BIG, s.min());
+        assertEquals(BIG + 19, s.max());
+        assertEquals(1, s.indexOf(BIG + 18));
+        assertEquals(-1, s.indexOf(18L));
+        assertTrue(s.contains(BIG + 2));
+
+        s.set(4, Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, s.min());
+    }
+
+    @Test
+    public void testSort() {
+        final Random random = new Random(7L);
+
+        for (int fromIndex = 0; fromIndex < SIZE; ++fromIndex) {
+            for (int toIndex = 0; toIndex < SIZE; ++toIndex) {
+                for (int i = 0; i < SIZE; ++i) {
+                    array[i] = random.nextLong();
+                }
+
+                final long[] copy = array.clone();
+                s = LongSlice.create()
+                             .withArray(array)
+                             .startingFrom(fromIndex)
+                             .until(toIndex);
+                final long[] expected = s.toArray();
+                Arrays.sort(expected);
+                s.sort();
+                assertArrayEquals(expected, s.toArray());
+
+                // The components outside of the slice stay intact.
+                for (int i = s.size(); i < SIZE; ++i) {
+                    final int index = (fromIndex + i) % SIZE;
+                    assertEquals(copy[index], array[index]);
+                }
+            }
+        }
+    }
+
+    private static void is(final LongSlice s, final long... longs) {
+        assertEquals(longs.length, s.size());
+
+        int index = 0;
+        final PrimitiveIterator.OfLong it = s.iterator();
+
+        while (it.hasNext()) {
+            assertEquals(longs[index++], it.nextLong());
+        }
+
+        for (index = 0; index < s.size(); ++index) {
+            assertEquals(longs[index], s.get(index));
+        }
+    }
+}
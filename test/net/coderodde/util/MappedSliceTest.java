@@ -0,0 +1,147 @@
+package net.coderodde.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class MappedSliceTest {
+
+    private static final RecordCodec<Integer> CODEC =
+            new RecordCodec<Integer>() {
+
+        @Override
+        public int recordSize() {
+            return 4;
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer record) {
+            buffer.putInt(offset, record);
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSurvivesReopening() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("log.slice");
+
+        try (MappedSlice<Integer> s = MappedSlice.open(file, 5, CODEC)) {
+            assertTrue(s.isEmpty());
+            assertEquals(5, s.capacity());
+
+            for (int i = 0; i < 7; ++i) {
+                // Append and drop the oldest record when full.
+                if (s.size() == s.capacity()) {
+                    s.moveHeadPointer(1);
+                }
+
+                s.moveTailPointer(1);
+                s.set(s.size() - 1, i);
+            }
+        }
+
+        assertEquals(MappedSlice.HEADER_SIZE + 5 * 4, Files.size(file));
+
+        try (MappedSlice<Integer> s = MappedSlice.open(file, 5, CODEC)) {
+            assertEquals(5, s.size());
+
+            for (int i = 0; i < 5; ++i) {
+                assertEquals(Integer.valueOf(i + 2), s.get(i));
+            }
+
+            s.moveHeadPointer(4);
+            s.rotate(1);
+        }
+
+        try (MappedSlice<Integer> s = MappedSlice.open(file, 5, CODEC)) {
+            assertEquals(1, s.size());
+            assertEquals(Integer.valueOf(6), s.get(0));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testThrowsOnCapacityMismatch() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("log.slice");
+        MappedSlice.open(file, 5, CODEC).close();
+        MappedSlice.open(file, 6, CODEC);
+    }
+
+    @Test(expected = IOException.class)
+    public void testThrowsOnForeignFile() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("foreign");
+        Files.write(file, new byte[MappedSlice.HEADER_SIZE + 5 * 4]);
+        MappedSlice.open(file, 5, CODEC);
+    }
+
+    @Test
+    public void testSpansSeveralRegions() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("log.slice");
+
+        // Regions of 3, 3, 3 and 1 records; the first one holds the header.
+        try (MappedSlice<Integer> s = MappedSlice.open(file, 10, CODEC, 3)) {
+            s.moveTailPointer(10);
+
+            for (int i = 0; i < 10; ++i) {
+                s.set(i, i);
+            }
+
+            s.move(7);
+            s.moveTailPointer(-4); // 7, 8, 9, 0, 1, 2
+            s.reverse();
+            s.rotate(2);
+        }
+
+        assertEquals(MappedSlice.HEADER_SIZE + 10 * 4, Files.size(file));
+
+        // The layout does not depend on the region size.
+        try (MappedSlice<Integer> s = MappedSlice.open(file, 10, CODEC)) {
+            final int[] expected = { 8, 7, 2, 1, 0, 9 };
+            assertEquals(expected.length, s.size());
+
+            for (int i = 0; i < expected.length; ++i) {
+                assertEquals(Integer.valueOf(expected[i]), s.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testMapsMoreThanTwoGiB() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("huge.slice");
+        // The records take a bit more than 2 GiB; the file stays sparse.
+        final int capacity = (1 << 29) + 16;
+
+        try (MappedSlice<Integer> s = MappedSlice.open(file, capacity, CODEC)) {
+            assertEquals(capacity, s.capacity());
+            s.move(-4);
+            s.moveTailPointer(8);
+
+            for (int i = 0; i < 8; ++i) {
+                s.set(i, i);
+            }
+        }
+
+        assertEquals(MappedSlice.HEADER_SIZE + 4L * capacity,
+                     Files.size(file));
+
+        try (MappedSlice<Integer> s = MappedSlice.open(file, capacity, CODEC)) {
+            assertEquals(8, s.size());
+            s.rotate(4);
+
+            for (int i = 0; i < 8; ++i) {
+                assertEquals(Integer.valueOf((i + 4) % 8), s.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package net.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MpmcSliceSequencerTest {
+
+    @Test
+    public void testOfferPollAndDrain() {
+        final MpmcSliceSequencer<Integer> s = new MpmcSliceSequencer<>(3);
+        assertNull(s.poll());
+        assertTrue(s.offer(1));
+        assertTrue(s.offer(2));
+        assertTrue(s.offer(3));
+        assertFalse(s.offer(4));
+        assertEquals(3, s.size());
+        assertEquals(Integer.valueOf(1), s.poll());
+        assertTrue(s.offer(4));
+
+        final List<Integer> list = new ArrayList<>();
+        assertEquals(2, s.drain(list::add, 2));
+        assertEquals(1, s.drain(list::add, 10));
+        assertEquals(0, s.drain(list::add, 10));
+        assertEquals(Arrays.asList(2, 3, 4), list);
+        assertTrue(s.isEmpty());
+    }
+
+    @Test
+    public void testThrowingDrainConsumerFreesClaimedSlots() {
+        final MpmcSliceSequencer<Integer> s = new MpmcSliceSequencer<>(3);
+        s.offer(1);
+        s.offer(2);
+        s.offer(3);
+
+        final List<Integer> list = new ArrayList<>();
+
+        try {
+            s.drain(x -> {
+                if (x == 2) {
+                    throw new IllegalStateException();
+                }
+
+                list.add(x);
+            }, 3);
+            fail("The consumer did not throw.");
+        } catch (IllegalStateException ex) {
+            // The element after the failing one is discarded and reported.
+            assertEquals(1, ex.getSuppressed().length);
+            assertTrue(ex.getSuppressed()[0].getMessage()
+                                            .startsWith("Discarded 1 "));
+        }
+
+        assertEquals(Arrays.asList(1), list);
+        assertTrue(s.isEmpty());
+        assertNull(s.poll());
+        assertTrue(s.offer(4));
+        assertTrue(s.offer(5));
+        assertTrue(s.offer(6));
+        assertEquals(Integer.valueOf(4), s.poll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnCapacityOne() {
+        new MpmcSliceSequencer<Integer>(1);
+    }
+
+    @Test
+    public void testCapacityTwo() {
+        final MpmcSliceSequencer<Integer> s = new MpmcSliceSequencer<>(2);
+
+        for (int i = 0; i < 5; ++i) {
+            assertTrue(s.offer(2 * i));
+            assertTrue(s.offer(2 * i + 1));
+            assertFalse(s.offer(-1));
+            assertEquals(Integer.valueOf(2 * i), s.poll());
+            assertEquals(Integer.valueOf(2 * i + 1), s.poll());
+            assertNull(s.poll());
+        }
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers()
+    throws InterruptedException {
+        final int producers = 4;
+        final int consumers = 4;
+        final int perProducer = 10_000;
+        final int total = producers * perProducer;
+        final MpmcSliceSequencer<Integer> s = new MpmcSliceSequencer<>(100);
+        final AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        final AtomicLong consumed = new AtomicLong();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; ++p) {
+            final int first = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = first; i < first + perProducer; ) {
+                    if (s.offer(i)) {
+                        ++i;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        for (int c = 0; c < consumers; ++c) {
+            final boolean batching = c % 2 == 0;
+            threads.add(new Thread(() -> {
+                while (consumed.get() < total) {
+                    int n = 0;
+
+                    if (batching) {
+                        n = s.drain(e -> seen.incrementAndGet(e), 16);
+                    } else {
+                        final Integer e = s.poll();
+
+                        if (e != null) {
+                            seen.incrementAndGet(e);
+                            n = 1;
+                        }
+                    }
+
+                    if (n == 0) {
+                        Thread.yield();
+                    } else {
+                        consumed.addAndGet(n);
+                    }
+                }
+            }));
+        }
+
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int i = 0; i < total; ++i) {
+            assertEquals(1, seen.get(i));
+        }
+
+        assertTrue(s.isEmpty());
+    }
+}
@@ -0,0 +1,205 @@
+package net.coderodde.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import org.junit.Before;
+
+public class OffHeapSliceTest {
+
+    private static final int CAPACITY = 10;
+
+    /**
+     * Encodes a long as 12 bytes: the long itself followed by its lower half,
+     * which is verified on every read.
+     */
+    private static final RecordCodec<Long> CODEC = new RecordCodec<Long>() {
+
+        @Override
+        public int recordSize() {
+            return 12;
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            assertEquals(buffer.getInt(offset + 8), buffer.getLong(offset));
+            return buffer.getLong(offset);
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long record) {
+            buffer.putLong(offset, record);
+            buffer.putInt(offset + 8, record.intValue());
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private OffHeapSlice<Long> s;
+
+    @Before
+    public void init() {
+        s = OffHeapSlice.allocateDirect(CAPACITY, CODEC);
+        s.moveTailPointer(CAPACITY);
+
+        for (int i = 0; i < CAPACITY; ++i) {
+            s.set(i, (long) i);
+        }
+    }
+
+    @Test
+    public void testAllocateDirect() {
+        s = OffHeapSlice.allocateDirect(CAPACITY, CODEC);
+        assertTrue(s.isEmpty());
+        assertEquals(CAPACITY, s.capacity());
+    }
+
+    @Test
+    public void testChunks() {
+        // Chunks of 3, 3, 3 and 1 records.
+        s = OffHeapSlice.allocateDirect(CAPACITY, CODEC, 3);
+        assertEquals(CAPACITY, s.capacity());
+        s.moveTailPointer(CAPACITY);
+
+        for (int i = 0; i < CAPACITY; ++i) {
+            s.set(i, (long) i);
+        }
+
+        s.moveHeadPointer(2);
+        s.moveTailPointer(-1); // 2, ..., 8
+        s.reverse();
+        is(s, 8, 7, 6, 5, 4, 3, 2);
+        s.move(6);
+        is(s, 2, 9, 0, 1, 8, 7, 6);
+        s.rotate(3);
+        is(s, 8, 7, 6, 2, 9, 0, 1);
+        s.reverse();
+        is(s, 1, 0, 9, 2, 6, 7, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrapThrowsOnUnevenChunks() {
+        OffHeapSlice.wrap(new ByteBuffer[]{ ByteBuffer.allocate(2 * 12),
+                                            ByteBuffer.allocate(3 * 12),
+                                            ByteBuffer.allocate(2 * 12) },
+                          CODEC,
+                          0,
+                          0);
+    }
+
+    @Test
+    public void testBeyondTwoGiB() throws IOException {
+        // Three sparse, mapped chunks of almost 1 GiB each.
+        final int recordsPerChunk = OffHeapSlice.CHUNK_BYTES / 12;
+        final long chunkBytes = (long) recordsPerChunk * 12;
+        final Path file = folder.getRoot().toPath().resolve("chunks");
+        final ByteBuffer[] chunks = new ByteBuffer[3];
+
+        try (FileChannel channel =
+                FileChannel.open(file,
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE)) {
+            for (int i = 0; i < chunks.length; ++i) {
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                        i * chunkBytes,
+                                        chunkBytes);
+            }
+        }
+
+        final int capacity = 3 * recordsPerChunk;
+        // The first record stored past 2 GiB is in the last chunk.
+        final int first = (int) ((Integer.MAX_VALUE + 1L) / 12) + 1;
+        assertEquals(2, first / recordsPerChunk);
+        s = OffHeapSlice.wrap(chunks, CODEC, first - 5, first + 5);
+        assertEquals(capacity, s.capacity());
+
+        for (int i = 0; i < 10; ++i) {
+            s.set(i, (long) i);
+        }
+
+        s.reverse();
+        is(s, 9, 8, 7, 6, 5, 4, 3, 2, 1, 0);
+        s.rotate(-3);
+        is(s, 6, 5, 4, 3, 2, 1, 0, 9, 8, 7);
+        assertEquals(1L, chunks[2].getLong(12));
+
+        // Wrap around the end of the last chunk.
+        s = OffHeapSlice.wrap(chunks, CODEC, capacity - 2, 2);
+        s.set(0, 10L);
+        s.set(1, 11L);
+        s.set(2, 12L);
+        s.set(3, 13L);
+        s.reverse();
+        is(s, 13, 12, 11, 10);
+    }
+
+    @Test
+    public void testPointers() {
+        s.moveHeadPointer(7);
+        s.moveTailPointer(2); // 7, 8, 9, 0, 1
+        is(s, 7, 8, 9, 0, 1);
+        s.moveHeadPointer(-8);
+        is(s, 2, 3, 4, 5, 6, 7, 8, 9, 0, 1);
+        s.moveTailPointer(-6);
+        is(s, 2, 3, 4, 5);
+        s.move(-4);
+        is(s, 8, 9, 0, 1);
+        s.move(23);
+        is(s, 1, 2, 3, 4);
+        s.moveHeadPointer(Integer.MAX_VALUE);
+        is(s);
+    }
+
+    @Test
+    public void testReverseAndRotate() {
+        s.moveHeadPointer(7);
+        s.moveTailPointer(2); // 7, 8, 9, 0, 1
+        s.reverse();
+        is(s, 1, 0, 9, 8, 7);
+        s.rotate(2);
+        is(s, 8, 7, 1, 0, 9);
+        s.rotate(-1);
+        is(s, 7, 1, 0, 9, 8);
+        s.rotate(10);
+        is(s, 7, 1, 0, 9, 8);
+    }
+
+    @Test
+    public void testWrap() {
+        final ByteBuffer buffer = ByteBuffer.allocate(4 * 12 + 5);
+        buffer.position(5);
+        s = OffHeapSlice.wrap(buffer, CODEC, 3, 1);
+        assertEquals(4, s.capacity());
+        assertEquals(2, s.size());
+        s.set(0, 42L);
+        s.set(1, 43L);
+        assertEquals(42L, buffer.getLong(5 + 3 * 12));
+        assertEquals(43L, buffer.getLong(5));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetThrowsOnLargeIndex() {
+        s.get(CAPACITY);
+    }
+
+    private static void is(final OffHeapSlice<Long> s, final long... values) {
+        assertEquals(values.length, s.size());
+        final Iterator<Long> it = s.iterator();
+
+        for (int i = 0; i < values.length; ++i) {
+            assertEquals(values[i], (long) it.next());
+            assertEquals(values[i], (long) s.get(i));
+        }
+
+        assertFalse(it.hasNext());
+    }
+}
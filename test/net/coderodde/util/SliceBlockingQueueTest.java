@@ -0,0 +1,110 @@
+package net.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SliceBlockingQueueTest {
+
+    @Test
+    public void testOfferAndPoll() throws InterruptedException {
+        final SliceBlockingQueue<Integer> queue = new SliceBlockingQueue<>(3);
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertFalse(queue.offer(4, 1, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(Integer.valueOf(1), queue.peek());
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertTrue(queue.offer(4)); // Wraps around.
+        assertEquals("[2, 3, 4]", queue.toString());
+        assertTrue(queue.remove(3));
+        assertEquals(Integer.valueOf(2), queue.take());
+        assertEquals(Integer.valueOf(4), queue.poll(1, TimeUnit.SECONDS));
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDrainToWrappedRing() {
+        final SliceBlockingQueue<Integer> queue = new SliceBlockingQueue<>(5);
+
+        for (int i = 0; i < 4; ++i) {
+            queue.offer(i);
+        }
+
+        queue.poll();
+        queue.poll();
+
+        for (int i = 4; i < 7; ++i) {
+            queue.offer(i); // 2, 3, 4, 5, 6 wrapping around.
+        }
+
+        final List<Integer> drained = new ArrayList<>();
+        assertEquals(3, queue.drainTo(drained, 3));
+        assertEquals(Arrays.asList(2, 3, 4), drained);
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals(Arrays.asList(2, 3, 4, 5, 6), drained);
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.drainTo(drained));
+    }
+
+    @Test
+    public void testTimedOfferAndPollRespectTimeout()
+            throws InterruptedException {
+        final SliceBlockingQueue<Integer> queue = new SliceBlockingQueue<>(1);
+        assertNull(queue.poll(0L, TimeUnit.NANOSECONDS));
+        assertTrue(queue.offer(1, 0L, TimeUnit.NANOSECONDS));
+        assertFalse(queue.offer(2, 0L, TimeUnit.NANOSECONDS));
+        assertFalse(queue.offer(2, -1L, TimeUnit.NANOSECONDS));
+
+        final long start = System.nanoTime();
+        assertFalse(queue.offer(2, 20L, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >=
+                   TimeUnit.MILLISECONDS.toNanos(20L));
+
+        assertEquals(Integer.valueOf(1), queue.poll(0L, TimeUnit.SECONDS));
+        assertNull(queue.poll(20L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testThrowsOnNull() {
+        new SliceBlockingQueue<Integer>(1).offer(null);
+    }
+
+    @Test
+    public void testProducerAndConsumer() throws Exception {
+        final int total = 100_000;
+        final SliceBlockingQueue<Integer> queue = new SliceBlockingQueue<>(64);
+        final Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < total; ++i) {
+                    queue.put(i);
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        producer.start();
+        final List<Integer> received = new ArrayList<>(total);
+
+        while (received.size() < total) {
+            if (queue.drainTo(received, 1000) == 0) {
+                final Integer element = queue.poll(1, TimeUnit.SECONDS);
+                assertNotNull(element);
+                received.add(element);
+            }
+        }
+
+        producer.join();
+
+        for (int i = 0; i < total; ++i) {
+            assertEquals(Integer.valueOf(i), received.get(i));
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package net.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SliceManagerTest {
+
+    @Test
+    public void testAllocateAndRelease() {
+        final Integer[] arena = new Integer[10];
+        final SliceManager<Integer> manager = new SliceManager<>(arena);
+        final Slice<Integer> a = manager.allocate(3);
+        final Slice<Integer> b = manager.allocate(4);
+        a.set(0, 1);
+        b.set(0, 2);
+        assertEquals(Integer.valueOf(1), arena[0]);
+        assertEquals(Integer.valueOf(2), arena[3]);
+        assertEquals(3, manager.freeSpace());
+
+        manager.release(a);
+        assertNull(arena[0]);
+        // The free range [7, 10) continues with [0, 3) around the end.
+        assertEquals(6, manager.largestFreeRange());
+
+        final Slice<Integer> c = manager.allocate(5);
+        c.set(4, 3);
+        assertEquals(Integer.valueOf(3), arena[1]);
+        assertEquals(1, manager.freeSpace());
+    }
+
+    @Test
+    public void testMoveCarriesContents() {
+        final Integer[] arena = new Integer[10];
+        final SliceManager<Integer> manager = new SliceManager<>(arena);
+        final Slice<Integer> a = manager.allocate(4);
+
+        for (int i = 0; i < 4; ++i) {
+            a.set(i, i);
+        }
+
+        manager.move(a, 2);
+        assertEquals("0 1 2 3", a.toString());
+        assertNull(arena[0]);
+        assertNull(arena[1]);
+
+        manager.move(a, -5); // Wraps around.
+        assertEquals("0 1 2 3", a.toString());
+        assertEquals(Integer.valueOf(0), arena[7]);
+
+        final Slice<Integer> b = manager.allocate(3);
+
+        try {
+            manager.move(b, 6);
+            fail();
+        } catch (final IllegalStateException ex) {
+            // The target collides with 'a'.
+        }
+
+        try {
+            manager.resize(a, 5);
+            fail();
+        } catch (final IllegalStateException ex) {
+            // The grown window collides with 'b'.
+        }
+
+        manager.resize(b, 6);
+        assertEquals(6, b.size());
+        manager.resize(a, 2);
+        assertEquals("0 1", a.toString());
+        assertNull(arena[9]);
+        assertNull(arena[0]);
+        assertEquals(2, manager.freeSpace());
+    }
+
+    @Test
+    public void testMoveAloneAcrossItself() {
+        final Integer[] arena = new Integer[10];
+        final SliceManager<Integer> manager = new SliceManager<>(arena);
+        final Slice<Integer> a = manager.allocate(8);
+
+        for (int i = 0; i < 8; ++i) {
+            a.set(i, i);
+        }
+
+        manager.move(a, 5);
+        assertEquals("0 1 2 3 4 5 6 7", a.toString());
+        assertNull(arena[3]);
+        assertNull(arena[4]);
+    }
+
+    @Test
+    public void testRandomOperationsKeepWindowsApart() {
+        final Random random = new Random(17L);
+        final Integer[] arena = new Integer[64];
+        final SliceManager<Integer> manager = new SliceManager<>(arena);
+        final List<Slice<Integer>> slices = new ArrayList<>();
+        final List<Integer> ids = new ArrayList<>();
+        int nextId = 0;
+
+        for (int iteration = 0; iteration < 2000; ++iteration) {
+            try {
+                switch (random.nextInt(5)) {
+                    case 0: {
+                        final Slice<Integer> slice =
+                                manager.allocate(1 + random.nextInt(8));
+                        slice.replaceAll(i -> -1);
+                        slices.add(slice);
+                        ids.add(nextId++);
+                        break;
+                    }
+
+                    case 1:
+                        if (!slices.isEmpty()) {
+                            final int i = random.nextInt(slices.size());
+                            manager.release(slices.remove(i));
+                            ids.remove(i);
+                        }
+
+                        break;
+
+                    case 2:
+                        if (!slices.isEmpty()) {
+                            manager.move(
+                                    slices.get(random.nextInt(slices.size())),
+                                    random.nextInt(21) - 10);
+                        }
+
+                        break;
+
+                    case 3:
+                        if (!slices.isEmpty()) {
+                            manager.resize(
+                                    slices.get(random.nextInt(slices.size())),
+                                    1 + random.nextInt(8));
+                        }
+
+                        break;
+
+                    default:
+                        manager.compact();
+                        assertEquals(manager.freeSpace(),
+                                     manager.largestFreeRange());
+                        break;
+                }
+            } catch (final IllegalStateException ex) {
+                // No room or a collision; the state must remain consistent.
+            }
+
+            // Stamp every window with its id and check that no window
+            // overwrote another one.
+            for (int i = 0; i < slices.size(); ++i) {
+                final int id = ids.get(i);
+                slices.get(i).replaceAll(x -> id);
+            }
+
+            int used = 0;
+
+            for (int i = 0; i < slices.size(); ++i) {
+                final Slice<Integer> slice = slices.get(i);
+                used += slice.size();
+
+                for (final Integer value : slice) {
+                    assertEquals(ids.get(i), value);
+                }
+            }
+
+            assertEquals(arena.length - used, manager.freeSpace());
+        }
+    }
+
+    @Test
+    public void testWindowsHaveFixedSize() {
+        final Integer[] arena = new Integer[10];
+        final SliceManager<Integer> manager = new SliceManager<>(arena);
+        final Slice<Integer> x = manager.allocate(3);
+        final Slice<Integer> y = manager.allocate(3);
+        y.set(0, 7);
+
+        final List<Runnable> mutators = new ArrayList<>();
+        mutators.add(() -> x.add(99));
+        mutators.add(() -> x.add(0, 99));
+        mutators.add(() -> x.addAll(Arrays.asList(99, 98)));
+        mutators.add(() -> x.asDeque().addFirst(99));
+        mutators.add(() -> x.asDeque().pollLast());
+        mutators.add(() -> x.remove(0));
+        mutators.add(() -> x.clear());
+        mutators.add(() -> x.removeIf(e -> true));
+        mutators.add(() -> x.setGrowable(true));
+        mutators.add(() -> x.move(1));
+        mutators.add(() -> x.moveHeadPointer(-1));
+        mutators.add(() -> x.moveTailPointer(1));
+        mutators.add(() -> x.reset(arena, 0, 3));
+
+        for (final Runnable mutator : mutators) {
+            try {
+                mutator.run();
+                fail("A fixed-size window was modified.");
+            } catch (UnsupportedOperationException ex) {
+                // Expected.
+            }
+        }
+
+        assertEquals(3, x.size());
+        assertEquals(Integer.valueOf(7), y.get(0));
+
+        x.set(2, 5);
+        x.rotate(1);
+        assertEquals(Integer.valueOf(5), x.get(0));
+
+        // The window is still intact, so it can be released.
+        manager.release(x);
+        assertEquals(7, manager.freeSpace());
+    }
+
+    @Test
+    public void testSortingWrappedWindowKeepsNeighbours() {
+        final Integer[] arena = new Integer[10];
+        final SliceManager<Integer> manager = new SliceManager<>(arena);
+        final Slice<Integer> a = manager.allocate(4);
+        manager.move(a, 8); // Covers [8, 10) and [0, 2).
+        final Slice<Integer> b = manager.allocate(3);
+        final Slice<Integer> c = manager.allocate(3);
+        b.replaceAll(x -> 7);
+        c.replaceAll(x -> 8);
+
+        for (int i = 0; i < 4; ++i) {
+            a.set(i, 4 - i);
+        }
+
+        a.sort(null);
+        assertEquals("1 2 3 4", a.toString());
+        assertEquals("7 7 7", b.toString());
+        assertEquals("8 8 8", c.toString());
+        assertEquals(Integer.valueOf(7), arena[2]);
+        assertEquals(Integer.valueOf(8), arena[7]);
+
+        // Sorting does not count as moving the window behind the manager.
+        manager.release(a);
+        assertEquals(4, manager.freeSpace());
+    }
+
+    @Test
+    public void testReleaseDetachesSlice() {
+        final Integer[] arena = new Integer[10];
+        final SliceManager<Integer> manager = new SliceManager<>(arena);
+        final Slice<Integer> x = manager.allocate(3);
+        manager.release(x);
+        assertTrue(x.isEmpty());
+        assertEquals(0, x.capacity());
+
+        final Slice<Integer> z = manager.allocate(3);
+        z.set(0, 1);
+
+        try {
+            x.set(0, 42);
+            fail("A released slice was written through.");
+        } catch (IndexOutOfBoundsException ex) {
+            // Expected.
+        }
+
+        assertEquals(Integer.valueOf(1), z.get(0));
+        assertEquals(Integer.valueOf(1), arena[0]);
+    }
+}
@@ -0,0 +1,33 @@
+package net.coderodde.util;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SliceMetricsDisabledTest {
+
+    @Test
+    public void testCountersStayZeroByDefault() throws Exception {
+        final SliceMetrics metrics = SliceMetrics.getInstance();
+        assertFalse(metrics.isEnabled());
+
+        final Slice<Integer> slice = Slice.of(new Integer[4], 3, 1);
+        slice.setGrowable(true);
+        slice.reverse();
+        slice.rotate(1);
+        slice.move(1);
+        slice.moveHeadPointer(-1);
+        slice.moveTailPointer(3);
+        slice.iterator();
+        IntSlice.create().withArray(new int[]{ 1, 2, 3 }).all().reverse();
+
+        assertEquals(0L, metrics.getElementsMoved());
+        assertEquals(0L, metrics.getPointerMoves());
+        assertEquals(0L, metrics.getWraparounds());
+        assertEquals(0L, metrics.getArrayAllocations());
+        assertEquals(0L, metrics.getIteratorsCreated());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                new ObjectName(SliceMetrics.OBJECT_NAME)));
+    }
+}
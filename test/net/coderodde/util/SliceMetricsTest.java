@@ -0,0 +1,92 @@
+package net.coderodde.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SliceMetricsTest {
+
+    private final SliceMetrics metrics = SliceMetrics.getInstance();
+
+    @Before
+    public void init() {
+        // Enabled by the Surefire execution running this test in its own JVM.
+        assertTrue(metrics.isEnabled());
+        metrics.reset();
+    }
+
+    @Test
+    public void testCountsElementsMoved() {
+        final Slice<Integer> slice = Slice.of(new Integer[10], 0, 10);
+        slice.reverse();
+        assertEquals(10L, metrics.getElementsMoved());
+        slice.rotate(3); // Three reversals of 7, 3 and 10 components.
+        assertEquals(10L + 6L + 2L + 10L, metrics.getElementsMoved());
+
+        final IntSlice ints = IntSlice.create().withArray(new int[5]).all();
+        ints.reverse();
+        assertEquals(32L, metrics.getElementsMoved());
+    }
+
+    @Test
+    public void testSortDoesNotCountElementsMoved() {
+        // Wraps around the end of the array, so the sorted runs are merged.
+        final Slice<Integer> slice =
+                Slice.of(new Integer[]{ 5, 1, 9, 7, 0, 3, 8, 2, 6, 4 }, 6, 4);
+        slice.sort(null);
+        assertEquals(Arrays.asList(1, 2, 4, 5, 6, 7, 8, 9), slice);
+
+        final IntSlice ints = IntSlice.create()
+                                      .withArray(new int[]{ 3, 1, 4, 9, 2, 6 })
+                                      .startingFrom(4)
+                                      .until(3);
+        ints.sort();
+        assertEquals("1 2 3 4 6", ints.toString());
+        assertEquals(0L, metrics.getElementsMoved());
+    }
+
+    @Test
+    public void testCountsPointerMovesAndWraparounds() {
+        final Slice<Integer> slice = Slice.of(new Integer[10], 8, 2);
+        slice.move(1);
+        assertEquals(0L, metrics.getWraparounds());
+        slice.move(1);
+        assertEquals(1L, metrics.getWraparounds());
+        slice.moveHeadPointer(-1);
+        assertEquals(2L, metrics.getWraparounds());
+        slice.moveTailPointer(1);
+        assertEquals(4L, metrics.getPointerMoves());
+    }
+
+    @Test
+    public void testCountsAllocationsAndIterators() {
+        final Slice<Integer> slice = Slice.of(new Integer[2], 0, 0);
+        slice.setGrowable(true);
+
+        for (int i = 0; i < 10; ++i) {
+            slice.add(i);
+        }
+
+        assertTrue(metrics.getArrayAllocations() > 0L);
+
+        for (final Integer i : slice) {
+            assertNotNull(i);
+        }
+
+        assertEquals(1L, metrics.getIteratorsCreated());
+    }
+
+    @Test
+    public void testRegisteredAsMBean() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(SliceMetrics.OBJECT_NAME);
+        Slice.of(new Integer[4], 0, 4).reverse();
+        assertEquals(4L, server.getAttribute(name, "ElementsMoved"));
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, metrics.getElementsMoved());
+    }
+}
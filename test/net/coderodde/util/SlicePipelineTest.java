@@ -0,0 +1,116 @@
+package net.coderodde.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SlicePipelineTest {
+
+    private static final int ELEMENTS = 100_000;
+
+    @Test
+    public void testStagesSeeEachOthersWrites() throws InterruptedException {
+        final SlicePipeline<Integer> pipeline = new SlicePipeline<>(64);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong expectedNext = new AtomicLong();
+        final boolean[] ordered = { true };
+
+        pipeline.addStage(batch -> batch.replaceAll(x -> 2 * x))
+                .addStage(batch -> {
+                    for (final Integer x : batch) {
+                        if (x != 2 * expectedNext.getAndIncrement()) {
+                            ordered[0] = false;
+                        }
+
+                        sum.addAndGet(x);
+                    }
+                })
+                .start();
+
+        for (int i = 0; i < ELEMENTS; ++i) {
+            pipeline.publish(i);
+        }
+
+        pipeline.close();
+        assertTrue(ordered[0]);
+        assertEquals((long) ELEMENTS * (ELEMENTS - 1), sum.get());
+        assertEquals(ELEMENTS, pipeline.processed(0));
+        assertEquals(ELEMENTS, pipeline.processed(1));
+    }
+
+    @Test
+    public void testPublishBatch() throws InterruptedException {
+        final SlicePipeline<Integer> pipeline =
+                new SlicePipeline<>(10, 3, Thread::new);
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong maxBatch = new AtomicLong();
+
+        pipeline.addStage(batch -> {
+                    maxBatch.accumulateAndGet(batch.size(), Math::max);
+                    batch.forEach(sum::addAndGet);
+                })
+                .start();
+
+        final Integer[] data = new Integer[25];
+
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = i;
+        }
+
+        pipeline.publish(data, 0, data.length);
+        pipeline.publish(data, 5, 5);
+        pipeline.close();
+        assertEquals(300 + 35, sum.get());
+        assertTrue(maxBatch.get() <= 3);
+    }
+
+    @Test
+    public void testStageFailureIsRethrown() throws InterruptedException {
+        final SlicePipeline<Integer> pipeline = new SlicePipeline<>(4);
+        pipeline.addStage(batch -> {
+            throw new IllegalArgumentException("boom");
+        }).start();
+
+        try {
+            for (int i = 0; i < 100; ++i) {
+                pipeline.publish(i);
+            }
+
+            pipeline.close();
+            fail("The stage failure was not rethrown.");
+        } catch (IllegalStateException ex) {
+            assertEquals(IllegalArgumentException.class,
+                         ex.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void testStructuralChangeOfBatchFailsPipeline()
+            throws InterruptedException {
+        final SlicePipeline<Integer> pipeline = new SlicePipeline<>(8);
+        final AtomicLong sum = new AtomicLong();
+
+        pipeline.addStage(batch -> {
+                    batch.forEach(sum::addAndGet);
+                    batch.moveTailPointer(1);
+                })
+                .start();
+        pipeline.publish(1);
+
+        try {
+            pipeline.close();
+            fail("The structural change was not rejected.");
+        } catch (IllegalStateException ex) {
+            assertEquals(UnsupportedOperationException.class,
+                         ex.getCause().getClass());
+        }
+
+        assertEquals(1L, sum.get());
+        assertEquals(0L, pipeline.processed(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPublishBeforeStartThrows() {
+        new SlicePipeline<Integer>(4).addStage(batch -> {}).publish(1);
+    }
+}
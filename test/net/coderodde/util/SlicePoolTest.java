@@ -0,0 +1,40 @@
+package net.coderodde.util;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SlicePoolTest {
+
+    @Test
+    public void testOfAndReset() {
+        final Integer[] a = { 0, 1, 2, 3, 4 };
+        final Slice<Integer> slice = Slice.of(a, 3, 1);
+        assertEquals("3 4 0", slice.toString());
+
+        final String[] b = { "x", "y" };
+        final Slice<Object> reused = Slice.<Object>of(a, 0, 2);
+        reused.reset(b, 1, 2);
+        assertEquals("y", reused.toString());
+        assertEquals(String[].class, reused.toTypedArray().getClass());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResetThrowsOnBadIndex() {
+        final Integer[] a = { 0, 1, 2 };
+        Slice.of(a, 0, 3).reset(a, 0, 4);
+    }
+
+    @Test
+    public void testAcquireReusesReleasedSlice() {
+        final Integer[] a = { 0, 1, 2, 3, 4 };
+        final Slice<Integer> first = SlicePool.acquire(a, 1, 3);
+        assertEquals("1 2", first.toString());
+        first.setGrowable(true);
+        SlicePool.release(first);
+
+        final Slice<Integer> second = SlicePool.acquire(a, 4, 2);
+        assertSame(first, second);
+        assertFalse(second.isGrowable());
+        assertEquals("4 0 1", second.toString());
+    }
+}
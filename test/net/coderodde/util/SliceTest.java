@@ -1,6 +1,16 @@
 package net.coderodde.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.junit.Before;
@@ -176,6 +186,24 @@ public class SliceTest {
                 .get(array.length);
     }
     
+    @Test
+    public void testListAccessOnEmptySliceThrowsIndexOutOfBounds() {
+        final Slice<Integer> empty = Slice.of(array, 3, 3);
+        final List<Runnable> accessors = new ArrayList<>();
+        accessors.add(() -> empty.get(0));
+        accessors.add(() -> empty.set(0, 1));
+        accessors.add(() -> empty.remove(0));
+
+        for (final Runnable accessor : accessors) {
+            try {
+                accessor.run();
+                fail("An empty slice was accessed.");
+            } catch (IndexOutOfBoundsException ex) {
+                // Expected.
+            }
+        }
+    }
+    
     @Test
     public void testSet() {
         s = create().withArray(array)
@@ -483,6 +511,55 @@ public class SliceTest {
         is(s, 2, 5, 4, 3, 6);
     }
 
+    @Test
+    public void testReverseRange() {
+        s = create().withArray(array)
+                    .startingFrom(array.length - 3)
+                    .until(3); // 17, 18, 19, 0, 1, 2
+        
+        s.reverse(1, 5);
+        is(s, 17, 1, 0, 19, 18, 2);
+        s.reverse(0, 0);
+        is(s, 17, 1, 0, 19, 18, 2);
+        s.reverse(4, 6);
+        is(s, 17, 1, 0, 19, 2, 18);
+        s.reverse(0, 6);
+        is(s, 18, 2, 19, 0, 1, 17);
+        
+        for (int from = 0; from < SIZE; ++from) {
+            for (int l = 0; l <= SIZE; ++l) {
+                for (int r = l; r <= SIZE; ++r) {
+                    init();
+                    s = create().withArray(array)
+                                .startingFrom(from)
+                                .until(from);
+                    s.moveTailPointer(SIZE);
+                    s.reverse(l, r);
+                    
+                    for (int i = 0; i < SIZE; ++i) {
+                        final int j = i < l || i >= r ? i : l + r - 1 - i;
+                        assertEquals((from + j) % SIZE, s.get(i));
+                    }
+                }
+            }
+        }
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testReverseRangeThrowsOnLargeToIndex() {
+        create().withArray(array)
+                .startingFrom(2)
+                .until(5)
+                .reverse(1, 4);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testReverseRangeThrowsOnReversedIndices() {
+        create().withArray(array)
+                .all()
+                .reverse(3, 2);
+    }
+
     @Test
     public void testRotateLeft() {
         s = create().withArray(array)
@@ -613,6 +690,534 @@ public class SliceTest {
         assertTrue(s.isEmpty());
     }
 
+    @Test
+    public void testToArray() {
+        s = create().withArray(array)
+                    .startingFrom(array.length - 3)
+                    .until(2); // 17, 18, 19, 0, 1
+        
+        assertArrayEquals(new Integer[]{ 17, 18, 19, 0, 1 }, s.toArray());
+        assertEquals(Object[].class, s.toArray().getClass());
+        assertArrayEquals(new Integer[]{ 17, 18, 19, 0, 1 }, s.toTypedArray());
+        assertEquals(Integer[].class, s.toTypedArray().getClass());
+        
+        s.moveTailPointer(-5);
+        assertEquals(0, s.toArray().length);
+    }
+    
+    @Test
+    public void testCopyTo() {
+        s = create().withArray(array)
+                    .startingFrom(array.length - 2)
+                    .until(3); // 18, 19, 0, 1, 2
+        
+        final Integer[] dest = new Integer[7];
+        s.copyTo(dest, 1);
+        assertArrayEquals(new Integer[]{ null, 18, 19, 0, 1, 2, null }, dest);
+        
+        s = create().withArray(array)
+                    .startingFrom(4)
+                    .until(7); // 4, 5, 6
+        
+        s.copyTo(dest, 4);
+        assertArrayEquals(new Integer[]{ null, 18, 19, 0, 4, 5, 6 }, dest);
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCopyToThrowsOnSmallDestination() {
+        create().withArray(array)
+                .startingFrom(2)
+                .until(6)
+                .copyTo(new Integer[5], 2);
+    }
+    
+    @Test
+    public void testCopyFrom() {
+        s = create().withArray(array)
+                    .startingFrom(array.length - 2)
+                    .until(3); // 18, 19, 0, 1, 2
+        
+        s.copyFrom(new Integer[]{ 100, 101, 102, 103 }, 1, 3);
+        is(s, 101, 102, 103, 1, 2);
+        assertEquals(Integer.valueOf(103), array[0]);
+        
+        s.copyFrom(new Integer[]{ 200 }, 0, 1);
+        is(s, 200, 102, 103, 1, 2);
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCopyFromThrowsOnTooManyComponents() {
+        create().withArray(array)
+                .startingFrom(2)
+                .until(4)
+                .copyFrom(new Integer[3], 0, 3);
+    }
+
+    @Test
+    public void testRotateAllOffsetsAndSteps() {
+        for (int from = 0; from < SIZE; ++from) {
+            for (int size = 0; size <= SIZE; ++size) {
+                for (int delta = -2 * SIZE; delta <= 2 * SIZE; delta += 3) {
+                    init();
+                    s = create().withArray(array)
+                                .startingFrom(from)
+                                .until((from + size) % SIZE);
+                    
+                    if (size == SIZE) {
+                        s.moveTailPointer(SIZE);
+                    }
+                    
+                    s.rotate(delta);
+                    
+                    for (int i = 0; i < size; ++i) {
+                        final int expected = 
+                                (from + Math.floorMod(i - delta, size)) % SIZE;
+                        assertEquals(expected, s.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStream() {
+        s = create().withArray(array)
+                    .startingFrom(array.length - 5)
+                    .until(5); // 15, ..., 19, 0, ..., 4
+        
+        assertEquals(Arrays.asList(15, 16, 17, 18, 19, 0, 1, 2, 3, 4),
+                     s.stream().collect(Collectors.toList()));
+        
+        assertEquals(Arrays.asList(15, 16, 17, 18, 19, 0, 1, 2, 3, 4),
+                     s.parallelStream().collect(Collectors.toList()));
+        
+        final Slice<Integer> slice = s;
+        assertEquals(95, slice.parallelStream()
+                              .mapToInt(Integer::intValue)
+                              .sum());
+    }
+    
+    @Test
+    public void testSpliteratorSplitsAcrossWrapAround() {
+        s = create().withArray(array)
+                    .startingFrom(array.length - 3)
+                    .until(3); // 17, 18, 19, 0, 1, 2
+        
+        final Spliterator<Integer> suffix = s.spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED));
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        
+        final Spliterator<Integer> prefix = suffix.trySplit();
+        assertEquals(3, prefix.estimateSize());
+        assertEquals(3, suffix.estimateSize());
+        
+        final List<Integer> list = new ArrayList<>();
+        prefix.forEachRemaining(list::add);
+        assertTrue(suffix.tryAdvance(list::add));
+        suffix.forEachRemaining(list::add);
+        assertEquals(Arrays.asList(17, 18, 19, 0, 1, 2), list);
+        assertFalse(suffix.tryAdvance(list::add));
+    }
+
+    @Test
+    public void testForEach() {
+        s = create().withArray(array)
+                    .startingFrom(array.length - 2)
+                    .until(2); // 18, 19, 0, 1
+        
+        final Slice<Integer> slice = s;
+        final List<Integer> list = new ArrayList<>();
+        slice.forEach(list::add);
+        assertEquals(Arrays.asList(18, 19, 0, 1), list);
+        
+        list.clear();
+        final Iterator<Integer> it = slice.iterator();
+        it.next();
+        it.forEachRemaining(list::add);
+        assertEquals(Arrays.asList(19, 0, 1), list);
+        assertFalse(it.hasNext());
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorThrowsOnMove() {
+        s = create().withArray(array).startingFrom(3).until(7);
+        final Iterator<Integer> it = s.iterator();
+        it.next();
+        s.move(1);
+        it.next();
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void testForEachThrowsOnPointerShift() {
+        final Slice<Integer> slice = Slice.<Integer>create()
+                                          .withArray(array)
+                                          .all();
+        slice.forEach(i -> slice.moveTailPointer(-1));
+    }
+
+    @Test
+    public void testGrowable() {
+        final Slice<Integer> slice = Slice.<Integer>create()
+                                          .withArray(array)
+                                          .startingFrom(17)
+                                          .until(2); // 17, 18, 19, 0, 1
+        slice.moveTailPointer(100);
+        assertEquals(SIZE, slice.size()); // Clamped by default.
+        slice.moveTailPointer(-15);
+
+        slice.setGrowable(true);
+        assertTrue(slice.isGrowable());
+        slice.moveTailPointer(20);
+        assertEquals(25, slice.size());
+        assertTrue(slice.capacity() >= 25);
+        assertEquals(Integer.valueOf(17), slice.get(0));
+        assertEquals(Integer.valueOf(1), slice.get(4));
+        assertNull(slice.get(24));
+
+        slice.set(0, 100);
+        assertEquals(Integer.valueOf(17), array[17]); // Detached.
+
+        slice.moveHeadPointer(-3);
+        slice.set(0, -3);
+        slice.set(1, -2);
+        slice.set(2, -1);
+        assertEquals(28, slice.size());
+        assertEquals(Integer.valueOf(-3), slice.get(0));
+        assertEquals(Integer.valueOf(100), slice.get(3));
+        assertEquals(Integer.valueOf(18), slice.get(4));
+
+        slice.moveTailPointer(-23);
+        slice.trimToSize();
+        assertEquals(5, slice.capacity());
+        is(slice, -3, -2, -1, 100, 18);
+        assertEquals(Integer[].class, slice.toTypedArray().getClass());
+
+        slice.ensureCapacity(40);
+        assertTrue(slice.capacity() >= 40);
+        is(slice, -3, -2, -1, 100, 18);
+    }
+
+    @Test
+    public void testGrowableDeque() {
+        final Slice<Integer> slice = Slice.<Integer>create()
+                                          .withArray(new Integer[0])
+                                          .all();
+        slice.setGrowable(true);
+
+        for (int i = 0; i < 1000; ++i) {
+            slice.moveTailPointer(1);
+            slice.set(slice.size() - 1, i);
+            slice.moveHeadPointer(-1);
+            slice.set(0, -i - 1);
+        }
+
+        assertEquals(2000, slice.size());
+
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(Integer.valueOf(i - 1000), slice.get(i));
+            assertEquals(Integer.valueOf(i), slice.get(1000 + i));
+        }
+    }
+
+    @Test
+    public void testListAgainstArrayList() {
+        final Random random = new Random(3L);
+        final Slice<Integer> slice = Slice.<Integer>create()
+                                          .withArray(new Integer[8])
+                                          .startingFrom(6)
+                                          .until(6);
+        slice.setGrowable(true);
+        final List<Integer> list = new ArrayList<>();
+
+        for (int iteration = 0; iteration < 3000; ++iteration) {
+            final int value = random.nextInt(50);
+
+            switch (random.nextInt(6)) {
+                case 0:
+                    slice.add(value);
+                    list.add(value);
+                    break;
+
+                case 1: {
+                    final int index = random.nextInt(list.size() + 1);
+                    slice.add(index, value);
+                    list.add(index, value);
+                    break;
+                }
+
+                case 2: {
+                    final int index = random.nextInt(list.size() + 1);
+                    final List<Integer> values = Arrays.asList(value, -value);
+                    slice.addAll(index, values);
+                    list.addAll(index, values);
+                    break;
+                }
+
+                case 3:
+                    if (!list.isEmpty()) {
+                        final int index = random.nextInt(list.size());
+                        assertEquals(list.remove(index), slice.remove(index));
+                    }
+
+                    break;
+
+                case 4:
+                    assertEquals(list.remove((Integer) value), 
+                                 slice.remove((Integer) value));
+                    break;
+
+                default:
+                    assertEquals(list.indexOf(value), slice.indexOf(value));
+                    assertEquals(list.lastIndexOf(value), 
+                                 slice.lastIndexOf(value));
+                    break;
+            }
+
+            assertEquals(list, slice);
+        }
+
+        assertEquals(list.hashCode(), slice.hashCode());
+    }
+
+    @Test
+    public void testBulkListOperations() {
+        final Slice<Integer> slice = Slice.<Integer>create()
+                                          .withArray(array)
+                                          .startingFrom(15)
+                                          .until(5); // 15, ..., 19, 0, ..., 4
+        assertTrue(slice.contains(0));
+        assertFalse(slice.contains(10));
+        assertEquals(Arrays.asList(17, 18, 19, 0), slice.subList(2, 6));
+
+        slice.replaceAll(i -> i * 2);
+        is(slice, 30, 32, 34, 36, 38, 0, 2, 4, 6, 8);
+
+        slice.sort(null);
+        is(slice, 0, 2, 4, 6, 8, 30, 32, 34, 36, 38);
+        slice.sort(Collections.reverseOrder());
+        is(slice, 38, 36, 34, 32, 30, 8, 6, 4, 2, 0);
+
+        final Integer[] dest = slice.toArray(new Integer[12]);
+        assertEquals(Integer.valueOf(38), dest[0]);
+        assertNull(dest[10]);
+
+        assertTrue(slice.removeIf(i -> i % 4 == 0));
+        is(slice, 38, 34, 30, 6, 2);
+        assertNull(array[0]); // Cleared.
+
+        slice.retainAll(Arrays.asList(2, 30));
+        is(slice, 30, 2);
+        slice.clear();
+        assertTrue(slice.isEmpty());
+    }
+
+    @Test
+    public void testDequeAtEndOfArray() {
+        final Integer[] a = new Integer[3];
+        final Slice<Integer> slice = Slice.of(a, 3, 3);
+        final Deque<Integer> deque = slice.asDeque();
+        deque.addLast(1);
+        deque.addLast(2);
+        assertEquals(Integer.valueOf(1), deque.peekFirst());
+        assertEquals(Integer.valueOf(1), deque.getFirst());
+        assertEquals(Integer.valueOf(1), deque.pollFirst());
+        deque.addFirst(0);
+        assertEquals(Integer.valueOf(0), deque.peekFirst());
+        assertEquals(2, slice.size());
+    }
+
+    @Test
+    public void testRemoveIfLeavesSliceIntactWhenFilterThrows() {
+        final Slice<Integer> slice = Slice.of(array, 0, 6);
+
+        try {
+            slice.removeIf(i -> {
+                if (i == 4) {
+                    throw new IllegalStateException();
+                }
+
+                return i % 2 == 0;
+            });
+            fail("The filter did not throw.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+
+        is(slice, 0, 1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void testRemoveIfOnFixedSizeSlice() {
+        final Slice<Integer> slice = Slice.of(array, 0, 6);
+        slice.markFixedSize();
+        assertFalse(slice.removeIf(i -> i > 5));
+        assertFalse(slice.removeAll(Arrays.asList(6, 7)));
+        is(slice, 0, 1, 2, 3, 4, 5);
+
+        try {
+            slice.removeIf(i -> i == 3);
+            fail("A fixed-size slice removed a component.");
+        } catch (UnsupportedOperationException ex) {
+            // Expected.
+        }
+
+        is(slice, 0, 1, 2, 3, 4, 5);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddThrowsWhenFull() {
+        final Slice<Integer> slice = Slice.<Integer>create()
+                                          .withArray(array)
+                                          .all();
+        slice.add(1);
+    }
+
+    @Test
+    public void testDequeView() {
+        final Slice<Integer> slice = Slice.<Integer>create()
+                                          .withArray(new Integer[4])
+                                          .startingFrom(2)
+                                          .until(2);
+        final Deque<Integer> deque = slice.asDeque();
+        assertNull(deque.peekFirst());
+        assertNull(deque.pollLast());
+
+        deque.addLast(1);
+        deque.addLast(2);
+        deque.addFirst(0);
+        deque.push(-1);
+        assertFalse(deque.offerLast(3));
+        is(slice, -1, 0, 1, 2);
+
+        assertEquals(Integer.valueOf(-1), deque.pop());
+        assertEquals(Integer.valueOf(2), deque.pollLast());
+        assertEquals(Integer.valueOf(0), deque.getFirst());
+        assertEquals(Integer.valueOf(1), deque.getLast());
+
+        slice.setGrowable(true);
+
+        for (int i = 2; i < 10; ++i) {
+            assertTrue(deque.offerLast(i));
+        }
+
+        assertEquals(10, deque.size());
+        assertEquals(Integer.valueOf(9), deque.descendingIterator().next());
+        assertTrue(deque.removeLastOccurrence(5));
+        assertEquals(Integer.valueOf(6), slice.get(5));
+    }
+
+    @Test
+    public void testSortWrappedIsStable() {
+        final Random random = new Random(11L);
+
+        for (int fromIndex = 0; fromIndex < SIZE; ++fromIndex) {
+            for (int toIndex = 0; toIndex < SIZE; ++toIndex) {
+                final Integer[] values = new Integer[SIZE];
+
+                for (int i = 0; i < SIZE; ++i) {
+                    // The tens are the key, the ones tell the original order.
+                    values[i] = random.nextInt(5) * 100 + i;
+                }
+
+                final Slice<Integer> slice = Slice.<Integer>create()
+                                                  .withArray(values)
+                                                  .startingFrom(fromIndex)
+                                                  .until(toIndex);
+                final Integer[] copy = values.clone();
+                final List<Integer> expected = new ArrayList<>(slice);
+                final Comparator<Integer> byKey = 
+                        Comparator.comparingInt(i -> i / 100);
+                expected.sort(byKey);
+                slice.sort(byKey);
+                assertEquals(expected, slice);
+
+                // The components outside of the slice stay intact.
+                for (int i = slice.size(); i < SIZE; ++i) {
+                    final int index = (fromIndex + i) % SIZE;
+                    assertEquals(copy[index], values[index]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSortWrappedLeavesGapIntact() {
+        final Integer[] values = { 3, 1, -1, -1, -1, -1, 9, 4, 7, 5 };
+        final Slice<Integer> slice = Slice.of(values, 6, 2); // 9, 4, 7, 5, 3, 1
+        slice.sort(null);
+        is(slice, 1, 3, 4, 5, 7, 9);
+
+        for (int i = 2; i < 6; ++i) {
+            assertEquals(Integer.valueOf(-1), values[i]);
+        }
+
+        Collections.reverse(slice);
+        final int[] calls = { 0 };
+
+        try {
+            slice.sort((a, b) -> {
+                if (++calls[0] == 7) { // In the merge.
+                    throw new IllegalStateException();
+                }
+
+                return Integer.compare(a, b);
+            });
+            fail("The comparator did not throw.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+
+        for (int i = 2; i < 6; ++i) {
+            assertEquals(Integer.valueOf(-1), values[i]);
+        }
+
+        final List<Integer> sorted = new ArrayList<>(slice);
+        Collections.sort(sorted);
+        assertEquals(Arrays.asList(1, 3, 4, 5, 7, 9), sorted);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSortInvalidatesIterator() {
+        final Slice<Integer> slice = Slice.of(array, 15, 5);
+        final Iterator<Integer> it = slice.iterator();
+        it.next();
+        slice.sort(Collections.reverseOrder());
+        it.next();
+    }
+
+    @Test
+    public void testParallelReverseAndRotate() {
+        final int length = 200_001;
+        final Integer[] a = new Integer[length];
+        final Integer[] b = new Integer[length];
+
+        for (int i = 0; i < length; ++i) {
+            a[i] = b[i] = i;
+        }
+
+        final Slice<Integer> sequential = Slice.<Integer>create()
+                                               .withArray(a)
+                                               .startingFrom(150_000)
+                                               .until(140_000);
+        final Slice<Integer> parallel = Slice.<Integer>create()
+                                             .withArray(b)
+                                             .startingFrom(150_000)
+                                             .until(140_000);
+        sequential.reverse();
+        parallel.parallelReverse();
+        assertArrayEquals(a, b);
+
+        sequential.reverse(1_000, 180_000);
+        parallel.parallelReverse(1_000, 180_000);
+        assertArrayEquals(a, b);
+
+        for (final int delta : new int[]{ 77_777, -123_456, 1, 0 }) {
+            sequential.rotate(delta);
+            parallel.parallelRotate(delta);
+            assertArrayEquals(a, b);
+        }
+    }
+
     public void is(final Slice s, final Integer... ints) {
         int index = 0;
         final Iterator<Integer> it = s.iterator();
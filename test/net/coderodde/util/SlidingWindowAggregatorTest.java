@@ -0,0 +1,102 @@
+package net.coderodde.util;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SlidingWindowAggregatorTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testSlidingWindow() {
+        final double[] array = { 5.0, 1.0, 4.0, 2.0, 8.0, 3.0, 7.0 };
+        final DoubleSlice slice = DoubleSlice.create()
+                                             .withArray(array)
+                                             .startingFrom(0)
+                                             .until(3); // 5, 1, 4
+        final SlidingWindowAggregator aggregator =
+                new SlidingWindowAggregator(slice);
+
+        assertEquals(3, aggregator.count());
+        assertEquals(10.0, aggregator.sum(), EPSILON);
+        assertEquals(1.0, aggregator.min(), EPSILON);
+        assertEquals(5.0, aggregator.max(), EPSILON);
+
+        aggregator.move(1); // 1, 4, 2
+        assertEquals(1.0, aggregator.min(), EPSILON);
+        assertEquals(4.0, aggregator.max(), EPSILON);
+
+        aggregator.move(2); // 2, 8, 3
+        assertEquals(13.0, aggregator.sum(), EPSILON);
+        assertEquals(2.0, aggregator.min(), EPSILON);
+        assertEquals(8.0, aggregator.max(), EPSILON);
+
+        aggregator.move(2); // 3, 7, 5 (wraps around)
+        assertEquals(5.0, aggregator.mean(), EPSILON);
+        assertEquals(3.0, aggregator.min(), EPSILON);
+        assertEquals(7.0, aggregator.max(), EPSILON);
+    }
+
+    @Test
+    public void testAgainstSlice() {
+        final Random random = new Random(7L);
+        final double[] array = new double[50];
+
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = random.nextInt(100);
+        }
+
+        final DoubleSlice slice = DoubleSlice.create()
+                                             .withArray(array)
+                                             .startingFrom(40)
+                                             .until(5);
+        final SlidingWindowAggregator aggregator =
+                new SlidingWindowAggregator(slice);
+
+        for (int iteration = 0; iteration < 2000; ++iteration) {
+            final int delta = random.nextInt(11) - 5;
+
+            switch (random.nextInt(4)) {
+                case 0:
+                    aggregator.move(Math.abs(delta));
+                    break;
+
+                case 1:
+                    aggregator.move(delta);
+                    break;
+
+                case 2:
+                    aggregator.moveHeadPointer(delta);
+                    break;
+
+                default:
+                    aggregator.moveTailPointer(delta);
+                    break;
+            }
+
+            if (random.nextInt(10) == 0 && !slice.isEmpty()) {
+                aggregator.set(random.nextInt(slice.size()),
+                               random.nextInt(100));
+            }
+
+            assertEquals(slice.size(), aggregator.count());
+            assertEquals(slice.sum(), aggregator.sum(), EPSILON);
+
+            if (!slice.isEmpty()) {
+                assertEquals(slice.min(), aggregator.min(), 0.0);
+                assertEquals(slice.max(), aggregator.max(), 0.0);
+            }
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinThrowsOnEmptyWindow() {
+        final DoubleSlice slice = DoubleSlice.create()
+                                             .withArray(new double[4])
+                                             .startingFrom(2)
+                                             .until(2);
+        new SlidingWindowAggregator(slice).min();
+    }
+}
@@ -0,0 +1,124 @@
+package net.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SpscSliceQueueTest {
+
+    @Test
+    public void testOfferAndPoll() {
+        final SpscSliceQueue<Integer> q = new SpscSliceQueue<>(3);
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+        assertTrue(q.offer(1));
+        assertTrue(q.offer(2));
+        assertTrue(q.offer(3));
+        assertFalse(q.offer(4));
+        assertEquals(3, q.size());
+        assertEquals(Integer.valueOf(1), q.peek());
+        assertEquals(Integer.valueOf(1), q.poll());
+        assertTrue(q.offer(4)); // Wraps around.
+        assertEquals(Integer.valueOf(2), q.poll());
+        assertEquals(Integer.valueOf(3), q.poll());
+        assertEquals(Integer.valueOf(4), q.poll());
+        assertNull(q.poll());
+    }
+
+    @Test
+    public void testBatches() {
+        final SpscSliceQueue<Integer> q = new SpscSliceQueue<>(5);
+        q.offer(0);
+        q.offer(1);
+        q.poll();
+        q.poll();
+        assertEquals(5, q.offer(new Integer[]{ 9, 2, 3, 4, 5, 6, 7 }, 1, 6));
+        assertEquals(0, q.offer(new Integer[]{ 8 }, 0, 1));
+
+        final List<Integer> list = new ArrayList<>();
+        assertEquals(3, q.drain(list::add, 3));
+        assertEquals(2, q.offer(new Integer[]{ 7, 8 }, 0, 2));
+        assertEquals(4, q.drain(list::add, 10));
+        assertEquals(0, q.drain(list::add, 10));
+        assertEquals(Arrays.asList(2, 3, 4, 5, 6, 7, 8), list);
+    }
+
+    @Test
+    public void testThrowingDrainConsumerKeepsTheRest() {
+        final SpscSliceQueue<Integer> q = new SpscSliceQueue<>(4);
+        q.offer(1);
+        q.offer(2);
+        q.poll();
+        q.offer(3);
+        q.offer(4);
+        q.offer(5); // Wraps around: 2, 3, 4, 5.
+
+        try {
+            q.drain(x -> {
+                if (x == 4) {
+                    throw new IllegalStateException();
+                }
+            }, 4);
+            fail("The consumer did not throw.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+
+        assertEquals(1, q.size());
+        assertEquals(Integer.valueOf(5), q.poll());
+        assertNull(q.poll());
+        assertTrue(q.offer(6));
+        assertEquals(Integer.valueOf(6), q.poll());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testThrowsOnNullElement() {
+        new SpscSliceQueue<Integer>(2).offer(null);
+    }
+
+    @Test
+    public void testConcurrentTransfer() throws InterruptedException {
+        final int count = 200_000;
+        final SpscSliceQueue<Integer> q = new SpscSliceQueue<>(1000);
+        final Thread producer = new Thread(() -> {
+            final Integer[] batch = new Integer[7];
+            int next = 0;
+
+            while (next < count) {
+                if ((next & 1) == 0) {
+                    if (q.offer(next)) {
+                        ++next;
+                    }
+                } else {
+                    final int length = Math.min(batch.length, count - next);
+
+                    for (int i = 0; i < length; ++i) {
+                        batch[i] = next + i;
+                    }
+
+                    next += q.offer(batch, 0, length);
+                }
+            }
+        });
+
+        producer.start();
+        final int[] expected = { 0 };
+
+        while (expected[0] < count) {
+            if ((expected[0] & 1) == 0) {
+                final Integer element = q.poll();
+
+                if (element != null) {
+                    assertEquals(expected[0]++, (int) element);
+                }
+            } else {
+                q.drain(e -> assertEquals(expected[0]++, (int) e), 13);
+            }
+        }
+
+        producer.join();
+        assertTrue(q.isEmpty());
+    }
+}
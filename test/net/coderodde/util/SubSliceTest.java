@@ -0,0 +1,125 @@
+package net.coderodde.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SubSliceTest {
+
+    private static final int SIZE = 20;
+
+    private Integer[] array;
+    private Slice<Integer> parent;
+
+    @Before
+    public void init() {
+        array = new Integer[SIZE];
+
+        for (int i = 0; i < SIZE; ++i) {
+            array[i] = i;
+        }
+
+        parent = Slice.<Integer>create()
+                      .withArray(array)
+                      .startingFrom(SIZE - 4)
+                      .until(4); // 16, ..., 19, 0, ..., 3
+    }
+
+    @Test
+    public void testGetAndSet() {
+        final SubSlice<Integer> view = parent.subSlice(2, 6); // 18, 19, 0, 1
+        assertEquals(4, view.size());
+        assertEquals(Integer.valueOf(18), view.get(0));
+        assertEquals(Integer.valueOf(1), view.get(3));
+        view.set(2, 100);
+        assertEquals(Integer.valueOf(100), array[0]);
+        assertEquals(Integer.valueOf(100), parent.get(4));
+    }
+
+    @Test
+    public void testFollowsParent() {
+        final SubSlice<Integer> view = parent.subSlice(2, 6);
+        parent.move(3);
+        assertEquals("1 2 3 4", view.toString());
+        parent.moveHeadPointer(1);
+        assertEquals("2 3 4 5", view.toString());
+    }
+
+    @Test
+    public void testNestedView() {
+        final SubSlice<Integer> view = parent.subSlice(1, 7).subSlice(2, 5);
+        assertArrayEquals(new Integer[]{ 19, 0, 1 }, view.toArray());
+        assertEquals(Object[].class, view.toArray().getClass());
+        assertEquals(Integer[].class, view.toTypedArray().getClass());
+
+        final Integer[] dest = new Integer[4];
+        view.copyTo(dest, 1);
+        assertArrayEquals(new Integer[]{ null, 19, 0, 1 }, dest);
+
+        final List<Integer> list = new ArrayList<>();
+        view.forEach(list::add);
+        assertEquals(Arrays.asList(19, 0, 1), list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testThrowsWhenParentShrinks() {
+        final SubSlice<Integer> view = parent.subSlice(2, 6);
+        parent.moveTailPointer(-3);
+        view.get(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testThrowsOnBadRange() {
+        parent.subSlice(2, 9);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetThrowsOnLargeIndex() {
+        parent.subSlice(2, 6).get(4);
+    }
+
+    @Test
+    public void testClearRemovesFromParent() {
+        final Slice<Integer> slice =
+                Slice.of(new Integer[]{ 1, 2, 3, 4, 5 }, 0, 5);
+        slice.subList(1, 3).clear();
+        assertEquals(Arrays.asList(1, 4, 5), slice);
+
+        final List<Integer> view = parent.subList(2, 6); // 18, 19, 0, 1
+        view.remove(1);
+        assertEquals(Arrays.asList(18, 0, 1), view);
+        assertEquals(7, parent.size());
+        assertEquals(Integer.valueOf(2), parent.get(5));
+    }
+
+    @Test
+    public void testAddInsertsIntoParent() {
+        final Slice<Integer> slice =
+                Slice.of(new Integer[]{ 1, 2, 3, 4, 5 }, 0, 5);
+        slice.setGrowable(true);
+        final List<Integer> view = slice.subList(1, 3);
+        view.add(100);
+        view.add(0, 200);
+        assertEquals(Arrays.asList(200, 2, 3, 100), view);
+        assertEquals(Arrays.asList(1, 200, 2, 3, 100, 4, 5), slice);
+    }
+
+    @Test
+    public void testNestedViewResizesOuterView() {
+        final SubSlice<Integer> outer = parent.subSlice(1, 7); // 17, ..., 2
+        outer.subSlice(2, 5).clear();
+        assertEquals(Arrays.asList(17, 18, 2), outer);
+        assertEquals(5, parent.size());
+        outer.subSlice(0, 1).add(99);
+        assertEquals(Arrays.asList(17, 99, 18, 2), outer);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddThrowsOnFixedSizeParent() {
+        parent.markFixedSize();
+        parent.subList(0, 2).add(0);
+    }
+}